@@ -0,0 +1,78 @@
+#!/usr/bin/env python3
+"""
+Compares two JMH JSON result files and flags regressions.
+
+    mvn -Pjmh test-compile exec:exec            # on the base commit
+    cp target/jmh-result.json /tmp/base.json
+    mvn -Pjmh test-compile exec:exec            # on the change
+    scripts/jmh-compare.py /tmp/base.json target/jmh-result.json --threshold 10
+
+A benchmark counts as regressed when it got worse by more than the threshold
+percentage AND the two confidence intervals do not overlap, so noise alone
+does not fail the comparison. Exits with status 1 if anything regressed.
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for run in json.load(f):
+            params = run.get("params") or {}
+            name = run["benchmark"].rsplit(".", 2)[-2:]
+            key = ".".join(name)
+            if params:
+                key += " [" + ", ".join(f"{k}={v}" for k, v in sorted(params.items())) + "]"
+            key += f" ({run['threads']}t)"
+            metric = run["primaryMetric"]
+            low, high = metric.get("scoreConfidence", [metric["score"], metric["score"]])
+            results[key] = {
+                "mode": run["mode"],
+                "score": metric["score"],
+                "low": low,
+                "high": high,
+                "unit": metric["scoreUnit"],
+            }
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("base")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0, help="regression threshold in percent (default 10)")
+    args = parser.parse_args()
+
+    base = load(args.base)
+    current = load(args.current)
+
+    regressions = 0
+    print(f"{'benchmark':<70} {'base':>14} {'current':>14} {'change':>9}")
+    for key in sorted(base.keys() | current.keys()):
+        if key not in base or key not in current:
+            print(f"{key:<70} {'only in ' + ('current' if key in current else 'base'):>39}")
+            continue
+        b, c = base[key], current[key]
+        # Throughput modes are better when higher, time modes when lower
+        higher_is_better = b["mode"] == "thrpt"
+        change = (c["score"] - b["score"]) / b["score"] * 100
+        worse = -change if higher_is_better else change
+        overlap = c["low"] <= b["high"] and b["low"] <= c["high"]
+
+        flag = ""
+        if worse > args.threshold and not overlap:
+            flag = "  REGRESSION"
+            regressions += 1
+        elif -worse > args.threshold and not overlap:
+            flag = "  improved"
+        print(f"{key:<70} {b['score']:>10.3f} {b['unit']:<3} {c['score']:>10.3f} {c['unit']:<3} {change:>+8.1f}%{flag}")
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) regressed by more than {args.threshold}%")
+        sys.exit(1)
+
+
+if __name__ == "__main__":
+    main()
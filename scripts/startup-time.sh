@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Time to first request: starts the application with the given java arguments, polls a URL until
+# it answers and prints the elapsed time. Repeats RUNS times (default 5) and prints the median.
+#
+#   scripts/startup-time.sh -jar target/backend-0.0.1-SNAPSHOT.jar
+#   scripts/startup-time.sh -XX:SharedArchiveFile=target/app/application.jsa -Dspring.aot.enabled=true \
+#       -Dspring.profiles.active=fast-start -jar target/app/backend-0.0.1-SNAPSHOT.jar
+#   JAVA=target/backend scripts/startup-time.sh        # native image
+#
+# OFFLINE=1 lets the application start without PostgreSQL, Redis or RabbitMQ (as in the CDS
+# training run), so startup can be compared on a machine without them.
+set -euo pipefail
+
+JAVA=${JAVA:-${JAVA_HOME:+$JAVA_HOME/bin/}java}
+URL=${URL:-http://localhost:8080/.well-known/jwks.json}
+RUNS=${RUNS:-5}
+OFFLINE_ARGS=()
+if [[ "${OFFLINE:-0}" == 1 ]]; then
+  OFFLINE_ARGS=(
+    -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false
+    -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect
+    -Dspring.jpa.hibernate.ddl-auto=none
+    -Dspring.datasource.hikari.initialization-fail-timeout=-1
+    -Dspring.datasource.hikari.connection-timeout=250
+    -Djfr.continuous.enabled=false
+  )
+fi
+
+times=()
+for run in $(seq 1 "$RUNS"); do
+  start=$(date +%s%N)
+  "$JAVA" "${OFFLINE_ARGS[@]}" "$@" > "/tmp/startup-time-$run.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited, see /tmp/startup-time-$run.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "run $run: ${elapsed} ms"
+  times+=("$elapsed")
+done
+
+printf '%s\n' "${times[@]}" | sort -n | awk '{ a[NR] = $1 } END { print "median: " a[int((NR + 1) / 2)] " ms" }'
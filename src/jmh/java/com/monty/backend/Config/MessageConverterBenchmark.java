@@ -0,0 +1,65 @@
+package com.monty.backend.Config;
+
+import com.monty.backend.DTO.OtpEvent;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson conversions on the OTP path: the RabbitMQ message converter from RabbitMqConfig
+ * and the Redis value serializer from RedisConfig
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageConverterBenchmark {
+
+    private Jackson2JsonMessageConverter messageConverter;
+    private GenericJackson2JsonRedisSerializer redisSerializer;
+    private OtpEvent otpEvent;
+    private Message message;
+    private byte[] redisOtp;
+    private byte[] redisAttempts;
+
+    @Setup
+    public void setUp() {
+        messageConverter = new RabbitMqConfig().messageConverter();
+        redisSerializer = new GenericJackson2JsonRedisSerializer();
+        otpEvent = new OtpEvent("john.doe@example.com", "123456", "John Doe");
+        message = messageConverter.toMessage(otpEvent, new MessageProperties());
+        redisOtp = redisSerializer.serialize("123456");
+        redisAttempts = redisSerializer.serialize(3L);
+    }
+
+    @Benchmark
+    public Message rabbitToMessage() {
+        return messageConverter.toMessage(otpEvent, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object rabbitFromMessage() {
+        return messageConverter.fromMessage(message);
+    }
+
+    @Benchmark
+    public byte[] redisSerializeOtp() {
+        return redisSerializer.serialize("123456");
+    }
+
+    @Benchmark
+    public Object redisDeserializeOtp() {
+        return redisSerializer.deserialize(redisOtp);
+    }
+
+    @Benchmark
+    public Object redisDeserializeAttempts() {
+        return redisSerializer.deserialize(redisAttempts);
+    }
+}
@@ -0,0 +1,33 @@
+package com.monty.backend.Service;
+
+import com.monty.backend.DTO.OtpEvent;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTML rendering of the OTP email, done once per consumed message
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailServiceBenchmark {
+
+    private EmailService emailService;
+    private OtpEvent otpEvent;
+
+    @Setup
+    public void setUp() {
+        emailService = new EmailService(null, ObservationRegistry.NOOP);
+        otpEvent = new OtpEvent("john.doe@example.com", "123456", "John Doe");
+    }
+
+    @Benchmark
+    public String buildEmailContent() {
+        return emailService.buildEmailContent(otpEvent);
+    }
+}
@@ -0,0 +1,95 @@
+package com.monty.backend.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.monty.backend.DTO.IntrospectionResponse;
+import com.monty.backend.Model.User;
+import com.monty.backend.Repository.IUserRepository;
+import com.monty.backend.Util.JwtKeyRing;
+import com.monty.backend.Util.JwtUtil;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Batch introspection with a warm principal cache, the steady state for an internal gateway,
+ * and the cost of encoding the response as JSON versus CBOR. Compare per-token cost across batch
+ * sizes by dividing the score by the batch size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenIntrospectionBenchmark {
+
+    private static final int USERS = 50;
+
+    @Param({"1", "20", "100"})
+    private int batchSize;
+
+    private TokenIntrospectionService tokenIntrospectionService;
+    private List<String> tokens;
+    private IntrospectionResponse response;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing("", Duration.ofMinutes(5));
+        keyRing.load();
+        JwtUtil jwtUtil = new JwtUtil(keyRing, 900000L);
+
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            User user = new User();
+            ReflectionTestUtils.setField(user, "id", id);
+            user.setName("User " + id);
+            user.setEmail("user" + id + "@example.com");
+            user.setActive(true);
+            users.add(user);
+        }
+        IUserRepository userRepository = Mockito.mock(IUserRepository.class);
+        Mockito.when(userRepository.findAllById(any())).thenReturn(users);
+
+        // Empty revocation filter: every lookup is answered locally, as for almost all real tokens
+        TokenRevocationService tokenRevocationService = new TokenRevocationService(null, null,
+                CircuitBreakerRegistry.ofDefaults(), 1000, 0.001);
+        tokenIntrospectionService = new TokenIntrospectionService(jwtUtil, tokenRevocationService, userRepository,
+                new SimpleMeterRegistry(), 100_000, Duration.ofHours(1), 100_000);
+
+        tokens = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            User user = users.get(i % USERS);
+            tokens.add(jwtUtil.generateToken(user.getEmail(), user.getId()));
+        }
+        response = new IntrospectionResponse(tokenIntrospectionService.introspect(tokens));
+        json = new ObjectMapper();
+        cbor = new CBORMapper();
+    }
+
+    @Benchmark
+    public IntrospectionResponse introspect() {
+        return new IntrospectionResponse(tokenIntrospectionService.introspect(tokens));
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return json.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws Exception {
+        return cbor.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,76 @@
+package com.monty.backend.Util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP generation with per-thread DRBGs against the previous approach of one shared SecureRandom
+ * called once per digit, at 1, 4 and all cores. Throughput of generateOtp should grow with the
+ * thread count while the shared instance flattens out. For other thread counts run with -t N.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OtpUtilBenchmark {
+
+    private static final String NUMBERS = "0123456789";
+
+    private OtpUtil otpUtil;
+    private SecureRandom sharedRandom;
+
+    @Setup
+    public void setUp() {
+        otpUtil = new OtpUtil(OtpUtil.MODE_STORED, "", Duration.ofMinutes(5), 6, NUMBERS);
+        sharedRandom = new SecureRandom();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String generateOtp_singleThread() {
+        return otpUtil.generateOtp();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateOtp_fourThreads() {
+        return otpUtil.generateOtp();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String generateOtp_allCores() {
+        return otpUtil.generateOtp();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String sharedSecureRandom_singleThread() {
+        return sharedRandomOtp();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String sharedSecureRandom_fourThreads() {
+        return sharedRandomOtp();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String sharedSecureRandom_allCores() {
+        return sharedRandomOtp();
+    }
+
+    private String sharedRandomOtp() {
+        StringBuilder otp = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            otp.append(NUMBERS.charAt(sharedRandom.nextInt(NUMBERS.length())));
+        }
+        return otp.toString();
+    }
+}
@@ -0,0 +1,173 @@
+package com.monty.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monty.backend.BackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load test of the full auth journey: register, wait for the OTP mail,
+ * verify, login, then fetch /api/user with the token.
+ *
+ * New journeys start at a fixed rate whether or not earlier ones have finished, so a
+ * slow server shows up as queueing latency instead of a lower request rate. Register
+ * latency is measured from the scheduled start, not from when the request was sent.
+ *
+ * Run with:
+ *   mvn -Ploadtest test-compile exec:exec -Dloadtest.rate=50 -Dloadtest.duration=PT2M
+ *
+ * Boots the application in-process with the "loadtest" profile (Postgres, Redis and
+ * RabbitMQ from compose.yaml, mail to {@link SmtpSink}). Set -Dloadtest.target=http://host:port
+ * to drive an already running instance instead; it must send mail to this machine's sink.
+ */
+public class LoadTestRunner {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final Duration OTP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final String baseUrl;
+    private final SmtpSink smtpSink;
+
+    LoadTestRunner(String baseUrl, SmtpSink smtpSink) {
+        this.baseUrl = baseUrl;
+        this.smtpSink = smtpSink;
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "20"));
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+        int smtpPort = Integer.parseInt(System.getProperty("loadtest.smtp-port", "2525"));
+        String target = System.getProperty("loadtest.target");
+
+        ConfigurableApplicationContext context = null;
+        try (SmtpSink smtpSink = new SmtpSink(smtpPort)) {
+            if (target == null) {
+                SpringApplication application = new SpringApplication(BackendApplication.class);
+                application.setAdditionalProfiles("loadtest");
+                context = application.run("--server.port=0", "--loadtest.smtp-port=" + smtpPort);
+                target = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            }
+
+            LoadTestRunner runner = new LoadTestRunner(target, smtpSink);
+            System.out.printf("Target %s, %.1f journeys/s, warm-up %s, measuring %s%n", target, rate, warmup, duration);
+
+            runner.run(rate, warmup, new LatencyReport());
+            LatencyReport report = new LatencyReport();
+            runner.run(rate, duration, report);
+
+            System.out.println();
+            report.print(System.out, duration.toMillis() / 1000.0);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Starts journeys at the given rate for the given time, then waits for the stragglers
+     */
+    void run(double rate, Duration duration, LatencyReport report) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService journeys = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+                long delay = scheduled - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                long intendedStart = scheduled;
+                journeys.submit(() -> journey(intendedStart, report));
+            }
+        }
+    }
+
+    private void journey(long intendedStart, LatencyReport report) {
+        String email = "lt-" + runId + "-" + sequence.incrementAndGet() + "@loadtest.local";
+        try {
+            var otp = smtpSink.otpFor(email);
+
+            if (!call(report, "register", intendedStart, post("/api/auth/register",
+                    Map.of("name", "Load Test", "email", email, "password", PASSWORD, "age", 30)))) {
+                return;
+            }
+
+            long mailWaitStart = System.nanoTime();
+            String otpCode;
+            try {
+                otpCode = otp.get(OTP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                report.record("otp-delivery", System.nanoTime() - mailWaitStart, true);
+            } catch (Exception e) {
+                report.record("otp-delivery", System.nanoTime() - mailWaitStart, false);
+                return;
+            }
+
+            if (!call(report, "verify", System.nanoTime(), post("/api/auth/verify",
+                    Map.of("email", email, "otpCode", otpCode)))) {
+                return;
+            }
+
+            HttpResponse<String> login = send(report, "login", System.nanoTime(), post("/api/auth/login",
+                    Map.of("email", email, "password", PASSWORD)));
+            if (login == null || login.statusCode() != 200) {
+                return;
+            }
+            JsonNode token = objectMapper.readTree(login.body()).get("token");
+
+            call(report, "user", System.nanoTime(), HttpRequest.newBuilder(URI.create(baseUrl + "/api/user"))
+                    .header("Authorization", "Bearer " + token.asText())
+                    .GET());
+        } catch (Exception e) {
+            report.record("journey", System.nanoTime() - intendedStart, false);
+        } finally {
+            smtpSink.forget(email);
+        }
+    }
+
+    private boolean call(LatencyReport report, String endpoint, long startNanos, HttpRequest.Builder request) {
+        HttpResponse<String> response = send(report, endpoint, startNanos, request);
+        return response != null && response.statusCode() == 200;
+    }
+
+    private HttpResponse<String> send(LatencyReport report, String endpoint, long startNanos, HttpRequest.Builder request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            report.record(endpoint, System.nanoTime() - startNanos, response.statusCode() == 200);
+            return response;
+        } catch (Exception e) {
+            report.record(endpoint, System.nanoTime() - startNanos, false);
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder post(String path, Map<String, Object> body) throws Exception {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+    }
+}
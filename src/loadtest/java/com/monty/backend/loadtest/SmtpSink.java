@@ -0,0 +1,132 @@
+package com.monty.backend.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal SMTP server that accepts every message, pulls the OTP out of the HTML body
+ * and hands it to whoever is waiting for that recipient. Enough for JavaMail without
+ * auth or STARTTLS; nothing is stored.
+ */
+public class SmtpSink implements AutoCloseable {
+
+    private static final Pattern RECIPIENT = Pattern.compile("(?i)^RCPT TO:\\s*<([^>]+)>");
+    private static final Pattern OTP = Pattern.compile("class=\"otp-code\">\\s*(\\d{6})\\s*<");
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+
+    public SmtpSink(int port) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        executor.submit(this::acceptLoop);
+    }
+
+    /**
+     * Completes with the OTP once a mail to the given address arrives
+     */
+    public CompletableFuture<String> otpFor(String email) {
+        return pending.computeIfAbsent(email.toLowerCase(), k -> new CompletableFuture<>());
+    }
+
+    public void forget(String email) {
+        pending.remove(email.toLowerCase());
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.submit(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("SMTP sink accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 loadtest SMTP sink");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 loadtest");
+                } else if (command.startsWith("RCPT TO")) {
+                    Matcher matcher = RECIPIENT.matcher(line);
+                    recipient = matcher.find() ? matcher.group(1).toLowerCase() : null;
+                    reply(out, "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    deliver(recipient, readData(in));
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    // MAIL FROM, RSET, NOOP
+                    reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away, nothing to clean up
+        }
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            // Undo dot-stuffing and quoted-printable soft line breaks
+            if (line.startsWith("..")) {
+                line = line.substring(1);
+            }
+            if (line.endsWith("=")) {
+                data.append(line, 0, line.length() - 1);
+            } else {
+                data.append(line).append('\n');
+            }
+        }
+        return data.toString().replace("=3D", "=");
+    }
+
+    private void deliver(String recipient, String body) {
+        if (recipient == null) {
+            return;
+        }
+        Matcher matcher = OTP.matcher(body);
+        if (matcher.find()) {
+            otpFor(recipient).complete(matcher.group(1));
+        } else {
+            otpFor(recipient).completeExceptionally(new IllegalStateException("No OTP in mail to " + recipient));
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+}
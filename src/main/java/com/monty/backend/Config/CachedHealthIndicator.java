@@ -0,0 +1,94 @@
+package com.monty.backend.Config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Health of one dependency, probed in the background by {@link HealthProbeConfig} and served
+ * from memory, so health and readiness requests never reach the dependency themselves.
+ *
+ * Reports DOWN until the first probe has finished, and also when the last result is older than
+ * the stale-after limit, which means a probe is hanging.
+ * Gauges: health.dependency.latency{dependency} of the last probe and health.dependency.up{dependency}.
+ */
+public class CachedHealthIndicator implements HealthIndicator {
+
+    @FunctionalInterface
+    public interface Probe {
+        void check() throws Exception;
+    }
+
+    private final String dependency;
+    private final Probe probe;
+    private final long staleAfterMillis;
+    private volatile Result last;
+
+    private record Result(Health health, long checkedAt, long latencyNanos) {
+    }
+
+    public CachedHealthIndicator(String dependency, Probe probe, Duration staleAfter, MeterRegistry meterRegistry) {
+        this.dependency = dependency;
+        this.probe = probe;
+        this.staleAfterMillis = staleAfter.toMillis();
+        TimeGauge.builder("health.dependency.latency", this, TimeUnit.NANOSECONDS,
+                        indicator -> indicator.last == null ? Double.NaN : indicator.last.latencyNanos())
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+        Gauge.builder("health.dependency.up", this, indicator -> indicator.isUp() ? 1 : 0)
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the probe and stores its result; called on the probe scheduler
+     */
+    public void refresh() {
+        long start = System.nanoTime();
+        Health.Builder builder;
+        try {
+            probe.check();
+            builder = Health.up();
+        } catch (Exception e) {
+            builder = Health.down().withDetail("error", e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+        long latency = System.nanoTime() - start;
+        long now = System.currentTimeMillis();
+        last = new Result(builder
+                .withDetail("latencyMs", TimeUnit.NANOSECONDS.toMillis(latency))
+                .withDetail("checkedAt", now)
+                .build(), now, latency);
+    }
+
+    @Override
+    public Health health() {
+        return health(System.currentTimeMillis());
+    }
+
+    public Health health(long nowMillis) {
+        Result result = last;
+        if (result == null) {
+            return Health.down().withDetail("error", "Not probed yet").build();
+        }
+        if (nowMillis - result.checkedAt() > staleAfterMillis) {
+            return Health.down()
+                    .withDetail("error", "No probe result for " + (nowMillis - result.checkedAt()) + " ms")
+                    .withDetail("checkedAt", result.checkedAt())
+                    .build();
+        }
+        return result.health();
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    private boolean isUp() {
+        return "UP".equals(health().getStatus().getCode());
+    }
+}
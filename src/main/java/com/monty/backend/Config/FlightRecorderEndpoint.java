@@ -0,0 +1,46 @@
+package com.monty.backend.Config;
+
+import com.monty.backend.Service.FlightRecorderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * /actuator/jfr?minutes=N: downloads the last N minutes (default 5) of the continuous recording.
+ * Open the file with JDK Mission Control or `jfr print`. The dump is deleted from the server once
+ * the response has been written.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final int DEFAULT_MINUTES = 5;
+
+    private final FlightRecorderService flightRecorderService;
+
+    @Autowired
+    public FlightRecorderEndpoint(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump(@Nullable Integer minutes) throws Exception {
+        Path file = flightRecorderService.dump(minutes != null && minutes > 0 ? minutes : DEFAULT_MINUTES);
+        return new FileSystemResource(file) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+            }
+        };
+    }
+}
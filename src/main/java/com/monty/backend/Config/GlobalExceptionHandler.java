@@ -1,49 +1,82 @@
-//package com.monty.backend.Config;
-//
-//import org.springframework.http.HttpStatus;
-//import org.springframework.http.ResponseEntity;
-//import org.springframework.security.authentication.BadCredentialsException;
-//import org.springframework.web.bind.MethodArgumentNotValidException;
-//import org.springframework.web.bind.annotation.ExceptionHandler;
-//import org.springframework.web.bind.annotation.RestControllerAdvice;
-//
-//import java.util.Map;
-//import java.util.stream.Collectors;
-//
-//@RestControllerAdvice
-//public class GlobalExceptionHandler {
-//
-//    @ExceptionHandler(MethodArgumentNotValidException.class)
-//    public ResponseEntity<Map<String,String>> handleValidation(MethodArgumentNotValidException ex) {
-//        String details = ex.getBindingResult().getFieldErrors().stream()
-//                .map(e -> e.getField()+": "+e.getDefaultMessage())
-//                .collect(Collectors.joining("; "));
-//        return ResponseEntity
-//                .badRequest()
-//                .body(Map.of(
-//                        "error",   "Validation Failed",
-//                        "message", details
-//                ));
-//    }
-//
-//    @ExceptionHandler(BadCredentialsException.class)
-//    public ResponseEntity<Map<String,String>> handleBadCreds(BadCredentialsException ex) {
-//        return ResponseEntity
-//                .status(HttpStatus.UNAUTHORIZED)
-//                .body(Map.of(
-//                        "error",   "Invalid Credentials",
-//                        "message", ex.getMessage()
-//                ));
-//    }
-//
-//    @ExceptionHandler(Exception.class)
-//    public ResponseEntity<Map<String,String>> handleAll(Exception ex) {
-//        return ResponseEntity
-//                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-//                .body(Map.of(
-//                        "error",   "Server Error",
-//                        "message", ex.getMessage()
-//                ));
-//    }
-//}
-//
+package com.monty.backend.Config;
+
+import com.monty.backend.DTO.AuthResponse;
+import com.monty.backend.Exception.AuthException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Maps exceptions to responses in one place. Expected auth failures become their status code
+ * with the message in an AuthResponse body and are not logged here; the service already logs
+ * them in one line. Only unexpected errors are logged with a stack trace, and at most
+ * maxPerMinute of them, so a failing dependency cannot flood the logs.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int maxPerMinute;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger loggedInWindow = new AtomicInteger();
+    private final AtomicInteger suppressedInWindow = new AtomicInteger();
+
+    @Autowired
+    public GlobalExceptionHandler(@Value("${error-log.max-per-minute:10}") int maxPerMinute) {
+        this.maxPerMinute = maxPerMinute;
+    }
+
+    @ExceptionHandler(AuthException.class)
+    public ResponseEntity<AuthResponse> handleAuth(AuthException ex) {
+        return ResponseEntity.status(ex.getStatus()).body(new AuthResponse(ex.getMessage()));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<AuthResponse> handleUnexpected(Exception ex, WebRequest request) {
+        if (tryAcquireLogPermit()) {
+            log.error("Unexpected error on {}", request.getDescription(false), ex);
+        } else {
+            suppressedInWindow.incrementAndGet();
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new AuthResponse("Internal server error"));
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers,
+                                                                  HttpStatusCode status, WebRequest request) {
+        String details = ex.getBindingResult().getFieldErrors().stream()
+                .map(e -> e.getField() + ": " + e.getDefaultMessage())
+                .collect(Collectors.joining("; "));
+        return ResponseEntity.badRequest().body(new AuthResponse("Validation failed: " + details));
+    }
+
+    private boolean tryAcquireLogPermit() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            loggedInWindow.set(0);
+            int suppressed = suppressedInWindow.getAndSet(0);
+            if (suppressed > 0) {
+                log.error("{} unexpected errors were not logged in the last minute", suppressed);
+            }
+        }
+        return loggedInWindow.incrementAndGet() <= maxPerMinute;
+    }
+}
@@ -0,0 +1,91 @@
+package com.monty.backend.Config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background health probes for PostgreSQL, Redis and RabbitMQ.
+ *
+ * The beans use the names Spring Boot gives its own db, redis and rabbit indicators, so they
+ * replace those synchronous ones. Each dependency is probed on its own thread every
+ * health.probe.interval, so a hanging database cannot hold up the Redis result. The liveness
+ * and readiness groups are configured in application.properties.
+ */
+@Configuration
+@ConditionalOnProperty(name = "health.probe.enabled", havingValue = "true", matchIfMissing = true)
+public class HealthProbeConfig {
+
+    private final ScheduledExecutorService scheduler;
+    private final MeterRegistry meterRegistry;
+    private final Duration interval;
+    private final Duration staleAfter;
+    private final int timeoutSeconds;
+
+    public HealthProbeConfig(MeterRegistry meterRegistry,
+                             @Value("${health.probe.interval:PT10S}") Duration interval,
+                             @Value("${health.probe.timeout:PT2S}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.interval = interval;
+        // A result survives two missed probes before it is reported as stale
+        this.staleAfter = interval.multipliedBy(3).plus(timeout);
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        this.scheduler = Executors.newScheduledThreadPool(3, Thread.ofPlatform().name("health-probe-", 0).daemon().factory());
+    }
+
+    @Bean
+    public CachedHealthIndicator dbHealthIndicator(DataSource dataSource) {
+        return schedule(new CachedHealthIndicator("db", () -> {
+            try (java.sql.Connection connection = dataSource.getConnection()) {
+                if (!connection.isValid(timeoutSeconds)) {
+                    throw new SQLException("Connection is not valid");
+                }
+            }
+        }, staleAfter, meterRegistry));
+    }
+
+    @Bean
+    public CachedHealthIndicator redisHealthIndicator(RedisConnectionFactory redisConnectionFactory) {
+        return schedule(new CachedHealthIndicator("redis", () -> {
+            try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+                connection.ping();
+            }
+        }, staleAfter, meterRegistry));
+    }
+
+    @Bean
+    public CachedHealthIndicator rabbitHealthIndicator(ConnectionFactory rabbitConnectionFactory) {
+        return schedule(new CachedHealthIndicator("rabbit", () -> {
+            // The caching connection factory hands out its shared connection, opening it if needed
+            try (Connection connection = rabbitConnectionFactory.createConnection()) {
+                if (!connection.isOpen()) {
+                    throw new IllegalStateException("Connection is closed");
+                }
+            }
+        }, staleAfter, meterRegistry));
+    }
+
+    private CachedHealthIndicator schedule(CachedHealthIndicator indicator) {
+        scheduler.scheduleWithFixedDelay(indicator::refresh, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        return indicator;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
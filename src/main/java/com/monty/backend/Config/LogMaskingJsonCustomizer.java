@@ -0,0 +1,18 @@
+package com.monty.backend.Config;
+
+import com.monty.backend.Util.LogMasker;
+import org.springframework.boot.json.JsonWriter;
+import org.springframework.boot.logging.structured.StructuredLoggingJsonMembersCustomizer;
+
+/**
+ * Masks emails and OTP codes in the JSON log encoder, so no call site has to remember to.
+ * Registered through logging.structured.json.customizer.
+ */
+public class LogMaskingJsonCustomizer implements StructuredLoggingJsonMembersCustomizer<Object> {
+
+    @Override
+    public void customize(JsonWriter.Members<Object> members) {
+        members.applyingValueProcessor(JsonWriter.ValueProcessor.of(String.class, LogMasker::mask).whenHasPath("message"));
+        members.applyingValueProcessor(JsonWriter.ValueProcessor.of(String.class, LogMasker::mask).whenHasPath("stack_trace"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.monty.backend.Config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every {@code rate} INFO-or-lower events from the configured loggers, which log one
+ * success line per request. WARN and ERROR always pass. Runs on the calling thread before the
+ * event is queued, so sampled-out events cost a counter increment.
+ */
+public class LogSamplingFilter extends Filter<ILoggingEvent> {
+
+    private List<String> loggers = List.of();
+    private int rate = 1;
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * Comma separated logger names; a name also matches its child loggers
+     */
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList();
+    }
+
+    public void setRate(int rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate == 1 || event.getLevel().isGreaterOrEqual(Level.WARN) || !sampled(event.getLoggerName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean sampled(String loggerName) {
+        for (String logger : loggers) {
+            if (loggerName.startsWith(logger)
+                    && (loggerName.length() == logger.length() || loggerName.charAt(logger.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
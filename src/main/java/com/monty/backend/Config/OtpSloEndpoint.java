@@ -0,0 +1,27 @@
+package com.monty.backend.Config;
+
+import com.monty.backend.Service.OtpDeliveryTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/otpslo: OTP delivery SLO burn rates for this instance
+ */
+@Component
+@Endpoint(id = "otpslo")
+public class OtpSloEndpoint {
+
+    private final OtpDeliveryTracker otpDeliveryTracker;
+
+    @Autowired
+    public OtpSloEndpoint(OtpDeliveryTracker otpDeliveryTracker) {
+        this.otpDeliveryTracker = otpDeliveryTracker;
+    }
+
+    @ReadOperation
+    public OtpDeliveryTracker.SloSnapshot otpSlo() {
+        return otpDeliveryTracker.snapshot(System.currentTimeMillis());
+    }
+}
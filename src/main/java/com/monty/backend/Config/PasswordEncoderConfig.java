@@ -1,15 +1,101 @@
 package com.monty.backend.Config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Password hashes are stored as {id}hash so the algorithm can change without a migration. Hashes
+ * from before the prefix was introduced are plain BCrypt and still match.
+ *
+ * At startup the encoder for new hashes is calibrated: its work factor is raised until one hash
+ * takes about password.hash.target on this hardware. Hashes made with another algorithm or a lower
+ * work factor report upgradeEncoding() and are rewritten on the next login (PasswordRehashService).
+ */
 @Configuration
 public class PasswordEncoderConfig {
 
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    // OWASP minimum for Argon2id: 19 MiB, 2 iterations, 1 lane
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final int ARGON2_MEMORY_KIB = 19 * 1024;
+    private static final int ARGON2_MIN_ITERATIONS = 2;
+    private static final int ARGON2_MAX_ITERATIONS = 10;
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.encoder:bcrypt}") String encodingId,
+                                           @Value("${password.hash.calibrate:true}") boolean calibrate,
+                                           @Value("${password.hash.target:PT0.2S}") Duration target,
+                                           @Value("${password.bcrypt.cost:10}") int bcryptCost,
+                                           @Value("${password.bcrypt.max-cost:16}") int bcryptMaxCost) {
+        if (calibrate && BCRYPT.equals(encodingId)) {
+            bcryptCost = calibrate("BCrypt cost", bcryptCost, bcryptMaxCost, target, BCryptPasswordEncoder::new);
+        }
+        int argon2Iterations = ARGON2.equals(encodingId) && calibrate
+                ? calibrate("Argon2id iterations", ARGON2_MIN_ITERATIONS, ARGON2_MAX_ITERATIONS, target, PasswordEncoderConfig::argon2)
+                : ARGON2_MIN_ITERATIONS;
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptCost);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encodingId, Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, argon2(argon2Iterations)));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    private static Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, 1, ARGON2_MEMORY_KIB, iterations);
+    }
+
+    /**
+     * Returns the highest work factor in [min, max] whose measured hash time stays within the target,
+     * never less than min. Every step is measured rather than extrapolated, since BCrypt doubles per
+     * cost step while Argon2 grows linearly with iterations.
+     */
+    static int calibrate(String name, int min, int max, Duration target, IntFunction<PasswordEncoder> encoderFor) {
+        long targetNanos = target.toNanos();
+        int chosen = min;
+        long chosenNanos = measure(encoderFor.apply(min));
+        for (int workFactor = min + 1; workFactor <= max; workFactor++) {
+            long nanos = measure(encoderFor.apply(workFactor));
+            if (nanos > targetNanos) {
+                break;
+            }
+            chosen = workFactor;
+            chosenNanos = nanos;
+        }
+        log.info("Password hashing calibrated: {} {} takes {} ms (target {} ms)",
+                name, chosen, chosenNanos / 1_000_000, target.toMillis());
+        return chosen;
+    }
+
+    // Median of a few encodes after one warm-up run
+    private static long measure(PasswordEncoder encoder) {
+        encoder.encode("calibration-warmup");
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-password-" + i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
     }
-}
\ No newline at end of file
+}
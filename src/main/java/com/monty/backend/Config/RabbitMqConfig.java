@@ -39,6 +39,8 @@ public class RabbitMqConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        // Writes the trace context into the message headers
+        template.setObservationEnabled(true);
         return template;
     }
 
@@ -47,6 +49,8 @@ public class RabbitMqConfig {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(messageConverter());
+        // Continues the publisher's trace in the listener
+        factory.setObservationEnabled(true);
         return factory;
     }
 }
\ No newline at end of file
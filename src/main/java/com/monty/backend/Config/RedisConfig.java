@@ -1,12 +1,26 @@
 package com.monty.backend.Config;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 public class RedisConfig {
 
@@ -26,4 +40,62 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Fails commands fast instead of queueing them while the connection is down,
+     * and applies spring.data.redis.timeout to every command including pipelined ones.
+     * Cluster client options are used for every topology (they are plain client options
+     * for standalone and Sentinel) so that cluster topology refresh survives this override.
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer lettuceClientOptionsCustomizer(
+            @Value("${spring.data.redis.connect-timeout:PT10S}") Duration connectTimeout,
+            @Value("${spring.data.redis.lettuce.cluster.refresh.period:PT30S}") Duration refreshPeriod,
+            @Value("${spring.data.redis.lettuce.cluster.refresh.adaptive:true}") boolean adaptiveRefresh) {
+        ClusterTopologyRefreshOptions.Builder topologyRefresh = ClusterTopologyRefreshOptions.builder()
+                .enablePeriodicRefresh(refreshPeriod);
+        if (adaptiveRefresh) {
+            topologyRefresh.enableAllAdaptiveRefreshTriggers();
+        }
+
+        ClientOptions clientOptions = ClusterClientOptions.builder()
+                .autoReconnect(true)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .socketOptions(SocketOptions.builder().connectTimeout(connectTimeout).keepAlive(true).build())
+                .timeoutOptions(TimeoutOptions.enabled())
+                .topologyRefreshOptions(topologyRefresh.build())
+                .build();
+
+        return builder -> builder.clientOptions(clientOptions);
+    }
+
+    /**
+     * One span per Redis command. Command arguments are left out of the span tags since they include OTP codes.
+     */
+    @Bean
+    public ClientResourcesBuilderCustomizer lettuceTracingCustomizer(ObservationRegistry observationRegistry,
+                                                                     @Value("${spring.application.name}") String applicationName) {
+        return builder -> builder.tracing(new MicrometerTracing(observationRegistry, applicationName + "-redis"));
+    }
+
+    /**
+     * Command latency histogram settings picked up by the actuator Lettuce metrics recorder.
+     */
+    @Bean
+    public MicrometerOptions lettuceMicrometerOptions(
+            @Value("${redis.metrics.percentiles:0.5,0.95,0.99}") double[] percentiles,
+            @Value("${redis.metrics.max-latency:PT2S}") Duration maxLatency) {
+        return MicrometerOptions.builder()
+                .histogram(true)
+                .targetPercentiles(percentiles)
+                .maxLatency(maxLatency)
+                .build();
+    }
+}
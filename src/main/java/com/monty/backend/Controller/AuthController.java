@@ -1,14 +1,12 @@
 package com.monty.backend.Controller;
 
 import com.monty.backend.DTO.*;
+import com.monty.backend.Exception.InvalidTokenException;
 import com.monty.backend.Service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,8 +18,6 @@ public class AuthController {
 
     private final AuthService authService;
 
-    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
-
     @Autowired
     public AuthController(AuthService authService) {
         this.authService = authService;
@@ -29,34 +25,30 @@ public class AuthController {
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterDTO request) {
-        try {
-            AuthResponse response = authService.register(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Registration failed for email: {}", request.getEmail(), e);
-            return ResponseEntity.badRequest().body(new AuthResponse(e.getMessage()));
-        }
+        return ResponseEntity.ok(authService.register(request));
     }
 
     @PostMapping("/verify")
     public ResponseEntity<AuthResponse> verifyOtp(@Valid @RequestBody OtpVerificationDTO request) {
-        try {
-            AuthResponse response = authService.verifyOtp(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("OTP verification failed for email: {}", request.getEmail(), e);
-            return ResponseEntity.badRequest().body(new AuthResponse(e.getMessage()));
-        }
+        return ResponseEntity.ok(authService.verifyOtp(request));
     }
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginDTO request) {
-        try {
-            AuthResponse response = authService.login(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("Login failed for email: {}", request.getEmail(), e);
-            return ResponseEntity.badRequest().body(new AuthResponse(e.getMessage()));
+        return ResponseEntity.ok(authService.login(request));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenDTO request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<AuthResponse> logout(@RequestHeader("Authorization") String authorization,
+                                               @RequestBody(required = false) RefreshTokenDTO request) {
+        if (!authorization.startsWith("Bearer ")) {
+            throw new InvalidTokenException("Bearer token required");
         }
+        return ResponseEntity.ok(authService.logout(authorization.substring(7), request != null ? request.getRefreshToken() : null));
     }
 }
\ No newline at end of file
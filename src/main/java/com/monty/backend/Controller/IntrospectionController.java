@@ -0,0 +1,50 @@
+package com.monty.backend.Controller;
+
+import com.monty.backend.DTO.IntrospectionRequestDTO;
+import com.monty.backend.DTO.IntrospectionResponse;
+import com.monty.backend.Exception.InvalidClientException;
+import com.monty.backend.Service.TokenIntrospectionService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Batch token introspection for internal services. Accepts and returns JSON or, for compact
+ * service-to-service calls, CBOR (Content-Type / Accept: application/cbor). Callers authenticate
+ * with the shared introspection.client-secret in the X-Client-Secret header.
+ */
+@RestController
+@RequestMapping("/api/internal")
+public class IntrospectionController {
+
+    private static final String CBOR = "application/cbor";
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final byte[] clientSecret;
+
+    @Autowired
+    public IntrospectionController(TokenIntrospectionService tokenIntrospectionService,
+                                   @Value("${introspection.client-secret:}") String clientSecret) {
+        this.tokenIntrospectionService = tokenIntrospectionService;
+        this.clientSecret = clientSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostMapping(value = "/introspect",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, CBOR},
+            produces = {MediaType.APPLICATION_JSON_VALUE, CBOR})
+    public ResponseEntity<IntrospectionResponse> introspect(@RequestHeader(value = "X-Client-Secret", required = false) String secret,
+                                                            @Valid @RequestBody IntrospectionRequestDTO request) {
+        // An unset secret disables the endpoint rather than leaving it open
+        if (clientSecret.length == 0 || secret == null
+                || !MessageDigest.isEqual(clientSecret, secret.getBytes(StandardCharsets.UTF_8))) {
+            throw new InvalidClientException("Invalid client credentials");
+        }
+        return ResponseEntity.ok(new IntrospectionResponse(tokenIntrospectionService.introspect(request.getTokens())));
+    }
+}
@@ -0,0 +1,37 @@
+package com.monty.backend.Controller;
+
+import com.monty.backend.Util.JwtKeyRing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Publishes the public JWT keys so other services can verify tokens without calling this one.
+ * The document is prebuilt by the key ring and cacheable; the cache lifetime has to stay below
+ * jwt.keys.activation-delay so clients see a new key before it starts signing.
+ */
+@RestController
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+    private final CacheControl cacheControl;
+
+    @Autowired
+    public JwksController(JwtKeyRing keyRing, @Value("${jwt.keys.jwks-max-age:PT2M}") Duration maxAge) {
+        this.keyRing = keyRing;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(keyRing.jwksJson());
+    }
+}
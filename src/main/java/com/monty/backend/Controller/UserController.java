@@ -4,8 +4,6 @@ import com.monty.backend.DTO.UserDTO;
 import com.monty.backend.Service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -20,8 +18,6 @@ public class UserController {
 
     private final AuthService authService;
 
-    private static final Logger log = LoggerFactory.getLogger(UserController.class);
-
     @Autowired
     public UserController(AuthService authService) {
         this.authService = authService;
@@ -29,15 +25,10 @@ public class UserController {
 
     @GetMapping
     public ResponseEntity<UserDTO> getCurrentUser() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String email = authentication.getName();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
 
-            UserDTO user = authService.getCurrentUser(email);
-            return ResponseEntity.ok(user);
-        } catch (Exception e) {
-            log.error("Failed to get current user", e);
-            return ResponseEntity.badRequest().build();
-        }
+        UserDTO user = authService.getCurrentUser(email);
+        return ResponseEntity.ok(user);
     }
 }
\ No newline at end of file
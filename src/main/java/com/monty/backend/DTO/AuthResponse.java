@@ -5,6 +5,7 @@ package com.monty.backend.DTO;
 
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private String message;
     private UserDTO user;
 
@@ -20,6 +21,14 @@ public class AuthResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getMessage() {
         return message;
     }
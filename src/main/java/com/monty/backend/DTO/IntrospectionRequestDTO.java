@@ -0,0 +1,21 @@
+package com.monty.backend.DTO;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+
+public class IntrospectionRequestDTO {
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = 500, message = "At most 500 tokens per request")
+    private List<String> tokens;
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+}
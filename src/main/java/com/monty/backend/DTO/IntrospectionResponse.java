@@ -0,0 +1,26 @@
+package com.monty.backend.DTO;
+
+import java.util.List;
+
+/**
+ * One result per requested token, in request order
+ */
+public class IntrospectionResponse {
+
+    private List<TokenIntrospectionDTO> results;
+
+    public IntrospectionResponse() {
+    }
+
+    public IntrospectionResponse(List<TokenIntrospectionDTO> results) {
+        this.results = results;
+    }
+
+    public List<TokenIntrospectionDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<TokenIntrospectionDTO> results) {
+        this.results = results;
+    }
+}
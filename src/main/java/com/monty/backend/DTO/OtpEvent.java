@@ -8,6 +8,10 @@ public class OtpEvent {
     private String email;
     private String otpCode;
     private String userName;
+    // Epoch millis, 0 when unknown (messages published before these fields existed)
+    private long createdAt;
+    private long publishedAt;
+    private long expiresAt;
 
     public String getEmail() {
         return email;
@@ -33,6 +37,33 @@ public class OtpEvent {
         this.userName = userName;
     }
 
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(long publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public OtpEvent() {
+    }
+
     public OtpEvent(String email, String otpCode, String userName) {
         this.email = email;
         this.otpCode = otpCode;
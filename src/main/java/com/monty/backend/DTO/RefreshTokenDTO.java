@@ -0,0 +1,17 @@
+package com.monty.backend.DTO;
+
+import jakarta.validation.constraints.NotBlank;
+
+
+public class RefreshTokenDTO {
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+
+    public @NotBlank(message = "Refresh token is required") String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(@NotBlank(message = "Refresh token is required") String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
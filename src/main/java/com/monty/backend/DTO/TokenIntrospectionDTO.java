@@ -0,0 +1,83 @@
+package com.monty.backend.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Introspection result for one token, modelled on RFC 7662. Inactive tokens only carry active=false.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionDTO {
+
+    private static final TokenIntrospectionDTO INACTIVE = new TokenIntrospectionDTO(false, null, null, null, null, null);
+
+    private boolean active;
+    private String sub;
+    private Long userId;
+    private String name;
+    private Long exp;
+    private String jti;
+
+    public TokenIntrospectionDTO() {
+    }
+
+    public TokenIntrospectionDTO(boolean active, String sub, Long userId, String name, Long exp, String jti) {
+        this.active = active;
+        this.sub = sub;
+        this.userId = userId;
+        this.name = name;
+        this.exp = exp;
+        this.jti = jti;
+    }
+
+    public static TokenIntrospectionDTO inactive() {
+        return INACTIVE;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getSub() {
+        return sub;
+    }
+
+    public void setSub(String sub) {
+        this.sub = sub;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getExp() {
+        return exp;
+    }
+
+    public void setExp(Long exp) {
+        this.exp = exp;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+}
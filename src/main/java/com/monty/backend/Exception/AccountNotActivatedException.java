@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Correct credentials, but the account has not been verified with an OTP yet
+ */
+public class AccountNotActivatedException extends AuthException {
+
+    public AccountNotActivatedException(String message) {
+        super(HttpStatus.FORBIDDEN, "not_activated", message);
+    }
+}
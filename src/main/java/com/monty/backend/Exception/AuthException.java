@@ -0,0 +1,30 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class for expected auth failures (wrong password, bad OTP, ...).
+ *
+ * These are normal outcomes, not bugs, so no stack trace is captured: filling one in
+ * costs more than the rest of a failed login, and nobody reads it. The status is what
+ * GlobalExceptionHandler returns and the outcome is used as the metric/JFR tag.
+ */
+public abstract class AuthException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final String outcome;
+
+    protected AuthException(HttpStatus status, String outcome, String message) {
+        super(message, null, false, false);
+        this.status = status;
+        this.outcome = outcome;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Registration with an email that already has an account
+ */
+public class EmailAlreadyExistsException extends AuthException {
+
+    public EmailAlreadyExistsException(String message) {
+        super(HttpStatus.CONFLICT, "email_exists", message);
+    }
+}
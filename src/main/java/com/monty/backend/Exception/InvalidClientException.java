@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * An internal caller did not present the expected client secret
+ */
+public class InvalidClientException extends AuthException {
+
+    public InvalidClientException(String message) {
+        super(HttpStatus.UNAUTHORIZED, "invalid_client", message);
+    }
+}
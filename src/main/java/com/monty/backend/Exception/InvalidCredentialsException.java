@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Unknown email or wrong password. Both map to the same response so accounts cannot be enumerated.
+ */
+public class InvalidCredentialsException extends AuthException {
+
+    public InvalidCredentialsException(String message) {
+        super(HttpStatus.UNAUTHORIZED, "bad_credentials", message);
+    }
+}
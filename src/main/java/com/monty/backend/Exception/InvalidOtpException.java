@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The submitted OTP does not match the stored one
+ */
+public class InvalidOtpException extends AuthException {
+
+    public InvalidOtpException(String message) {
+        super(HttpStatus.UNAUTHORIZED, "invalid_otp", message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Missing, malformed, expired or reused access or refresh token
+ */
+public class InvalidTokenException extends AuthException {
+
+    public InvalidTokenException(String message) {
+        super(HttpStatus.UNAUTHORIZED, "invalid_token", message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The OTP matched but its validity window has passed
+ */
+public class OtpExpiredException extends AuthException {
+
+    public OtpExpiredException(String message) {
+        super(HttpStatus.GONE, "expired", message);
+    }
+}
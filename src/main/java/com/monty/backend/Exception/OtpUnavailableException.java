@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The OTP cannot be checked right now, e.g. derived codes while Redis is down and attempts cannot be counted
+ */
+public class OtpUnavailableException extends AuthException {
+
+    public OtpUnavailableException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "unavailable", message);
+    }
+}
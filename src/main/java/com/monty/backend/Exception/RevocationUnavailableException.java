@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A token could not be revoked on every instance because Redis is down, the client should retry the logout
+ */
+public class RevocationUnavailableException extends AuthException {
+
+    public RevocationUnavailableException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "unavailable", message);
+    }
+}
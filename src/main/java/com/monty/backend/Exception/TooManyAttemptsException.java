@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The attempt limit for the current OTP has been reached
+ */
+public class TooManyAttemptsException extends AuthException {
+
+    public TooManyAttemptsException(String message) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "too_many_attempts", message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.monty.backend.Exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * No user for the given email or id
+ */
+public class UserNotFoundException extends AuthException {
+
+    public UserNotFoundException(String message) {
+        super(HttpStatus.NOT_FOUND, "user_not_found", message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.monty.backend.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per successful login. Rows are written in batches by LoginAuditService, never through JPA;
+ * the entity defines the table and is there for reads.
+ */
+@Entity
+@Table(name = "login_history", indexes = {
+        @Index(name = "idx_login_history_user_id_login_at", columnList = "user_id, login_at")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "login_at", nullable = false)
+    private LocalDateTime loginAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getLoginAt() {
+        return loginAt;
+    }
+}
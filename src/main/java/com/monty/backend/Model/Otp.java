@@ -3,8 +3,11 @@ package com.monty.backend.Model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(name = "otp")
@@ -12,6 +15,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Otp {
 
+    // Longest code otp.length may ask for in stored mode
+    public static final int MAX_CODE_LENGTH = 12;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -19,15 +25,23 @@ public class Otp {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
-    @Column(nullable = false, length = 6)
+    @Column(nullable = false, length = MAX_CODE_LENGTH)
     private String code;
 
+    // PostgreSQL partitions the table by day on this column (db/otp-partitioning.sql); updates and
+    // deletes include it so they only touch one partition
+    @PartitionKey
     @Column(name = "expiration_time", nullable = false)
     private LocalDateTime expirationTime;
 
     @Column(nullable = false)
     private Boolean verified = false;
 
+    // Verification attempts checked against the database while Redis could not count them
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
     private User user;
@@ -59,7 +73,8 @@ public class Otp {
     }
 
     public void setExpirationTime(LocalDateTime expirationTime) {
-        this.expirationTime = expirationTime;
+        // Stored with microsecond precision; as part of every update's where clause the value held here must match it exactly
+        this.expirationTime = expirationTime == null ? null : expirationTime.truncatedTo(ChronoUnit.MICROS);
     }
 
     public Boolean getVerified() {
@@ -70,6 +85,10 @@ public class Otp {
         this.verified = verified;
     }
 
+    public Integer getAttempts() {
+        return attempts;
+    }
+
     public User getUser() {
         return user;
     }
@@ -46,6 +46,10 @@ public class User {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Written only by LoginAuditService, so saving a loaded user never overwrites a newer value
+    @Column(name = "last_login_at", insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
     public Long getId() {
         return id;
     }
@@ -97,4 +101,8 @@ public class User {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
-}
\ No newline at end of file
+
+    public LocalDateTime getLastLoginAt() {
+        return lastLoginAt;
+    }
+}
@@ -2,6 +2,9 @@ package com.monty.backend.Repository;
 
 import com.monty.backend.Model.Otp;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -9,7 +12,17 @@ import java.util.Optional;
 @Repository
 public interface IOtpRepository extends JpaRepository<Otp,Long> {
 
-    Optional<Otp> findByUserIdAndCodeAndVerifiedFalse(Long userId, String code);
+    // Bounded on expiration_time so PostgreSQL only scans the daily partitions that can hold the code
+    Optional<Otp> findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(Long userId, String code,
+                                                                              LocalDateTime from, LocalDateTime to);
+
+    // Counts one attempt against every pending code of the user, for verification without Redis.
+    // Clears the persistence context so codes loaded afterwards carry the new count.
+    @Modifying(clearAutomatically = true)
+    @Query("update Otp o set o.attempts = o.attempts + 1 where o.userId = :userId and o.verified = false " +
+            "and o.expirationTime between :from and :to")
+    int incrementAttempts(@Param("userId") Long userId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     void deleteByExpirationTimeBefore(LocalDateTime now);
     void deleteByUserId(Long userId);
 }
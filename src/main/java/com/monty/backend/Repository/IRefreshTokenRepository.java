@@ -0,0 +1,37 @@
+package com.monty.backend.Repository;
+
+import com.monty.backend.Model.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IRefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Row lock so two concurrent refreshes with the same token cannot both rotate it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    // One bulk statement, a derived deleteBy would load and delete the rows one by one
+    @Modifying
+    @Query("delete from RefreshToken r where r.expirationTime < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // Users holding a live refresh token, most recently issued first
+    @Query("select r.userId from RefreshToken r where r.revoked = false and r.used = false and r.expirationTime > :now " +
+            "group by r.userId order by max(r.id) desc")
+    List<Long> findRecentlyActiveUserIds(@Param("now") LocalDateTime now, Limit limit);
+}
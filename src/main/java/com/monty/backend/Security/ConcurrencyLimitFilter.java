@@ -0,0 +1,129 @@
+package com.monty.backend.Security;
+
+import com.monty.backend.Util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sheds load per endpoint before a request reaches Spring Security or a controller.
+ *
+ * Each endpoint has its own {@link AdaptiveConcurrencyLimit}, so a slow database or SMTP server
+ * only shrinks the limit of the endpoints that depend on it. Requests over the limit get an
+ * immediate 503 with Retry-After instead of queueing for a Tomcat thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final List<Endpoint> endpoints;
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+
+    @Autowired
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${concurrency-limit.enabled:true}") boolean enabled,
+                                  @Value("${concurrency-limit.initial-limit:20}") int initialLimit,
+                                  @Value("${concurrency-limit.min-limit:4}") int minLimit,
+                                  @Value("${concurrency-limit.max-limit:200}") int maxLimit,
+                                  @Value("${concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.endpoints = List.of(
+                new Endpoint("register", "/api/auth/register", meterRegistry, initialLimit, minLimit, maxLimit),
+                new Endpoint("verify", "/api/auth/verify", meterRegistry, initialLimit, minLimit, maxLimit),
+                new Endpoint("login", "/api/auth/login", meterRegistry, initialLimit, minLimit, maxLimit),
+                new Endpoint("user", "/api/user", meterRegistry, initialLimit, minLimit, maxLimit));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || endpointFor(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Endpoint endpoint = endpointFor(request.getRequestURI());
+        AdaptiveConcurrencyLimit limit = endpoint.limit;
+
+        if (!limit.tryAcquire()) {
+            endpoint.rejected.increment();
+            log.debug("Shed request to {}, limit {} reached", endpoint.name, limit.getLimit());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", retryAfterSeconds);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"message\":\"Server is busy, please retry later\"}");
+            return;
+        }
+
+        int inflightAtStart = limit.getInflight();
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            limit.release(System.nanoTime() - start, inflightAtStart, dropped);
+        }
+    }
+
+    /**
+     * @return the limit guarding the given endpoint name, e.g. "login"
+     */
+    public AdaptiveConcurrencyLimit getLimit(String name) {
+        return endpoints.stream()
+                .filter(endpoint -> endpoint.name.equals(name))
+                .map(endpoint -> endpoint.limit)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Endpoint endpointFor(String uri) {
+        for (Endpoint endpoint : endpoints) {
+            if (uri.equals(endpoint.path) || uri.startsWith(endpoint.path + "/")) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final String path;
+        private final AdaptiveConcurrencyLimit limit;
+        private final Counter rejected;
+
+        private Endpoint(String name, String path, MeterRegistry meterRegistry, int initialLimit, int minLimit, int maxLimit) {
+            this.name = name;
+            this.path = path;
+            this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+            Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInflight)
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("http.concurrency.rejected")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.monty.backend.Security;
 
 import com.monty.backend.Service.RabbitMqService;
+import com.monty.backend.Service.TokenRevocationService;
+import com.monty.backend.Util.JwtFilterEvent;
 import com.monty.backend.Util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,10 +26,12 @@ import java.util.ArrayList;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
@@ -35,29 +40,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         final String requestTokenHeader = request.getHeader("Authorization");
+        JwtFilterEvent event = new JwtFilterEvent();
+        event.begin();
+        event.outcome = "anonymous";
 
         String email = null;
-        String jwtToken = null;
+        String tokenId = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
             try {
-                email = jwtUtil.extractEmail(jwtToken);
+                // Parsing verifies the signature and expiry, so the token is only parsed once
+                Claims claims = jwtUtil.extractAllClaims(requestTokenHeader.substring(7));
+                email = claims.getSubject();
+                tokenId = claims.getId();
             } catch (Exception e) {
                 log.warn("Unable to get email from JWT Token: {}", e.getMessage());
+                event.outcome = "invalid";
             }
         }
 
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwtToken, email)) {
+            if (tokenRevocationService.isRevoked(tokenId)) {
+                log.debug("Rejected revoked token {} for user: {}", tokenId, email);
+                event.outcome = "revoked";
+            } else {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(email, null, new ArrayList<>());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
 
                 log.debug("Authentication set for user: {}", email);
+                event.outcome = "authenticated";
             }
         }
+        event.commit();
 
         filterChain.doFilter(request, response);
     }
@@ -1,19 +1,26 @@
 package com.monty.backend.Service;
 
 import com.monty.backend.DTO.*;
+import com.monty.backend.Exception.*;
 import com.monty.backend.Model.*;
 import com.monty.backend.Repository.*;
 import com.monty.backend.Util.*;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 public class AuthService {
@@ -23,138 +30,365 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final OtpUtil otpUtil;
     private final JwtUtil jwtUtil;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final OtpCacheService otpCacheService;
     private final RabbitMqService rabbitMqService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordRehashService passwordRehashService;
+    private final LoginAuditService loginAuditService;
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    // Parallel requests for the same account share one query, e.g. a mobile app's burst of calls on launch
+    private final SingleFlight<String, UserDTO> currentUserLookups;
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
     private static final int OTP_EXPIRATION_MINUTES = 5;
-    private static final String REDIS_OTP_PREFIX = "otp:";
+    private static final int MAX_OTP_ATTEMPTS = 5;
+
+    // Metrics: auth.operation{operation, outcome} for the whole call, auth.stage{operation, stage} per step
+    private static final String OPERATION_METRIC = "auth.operation";
+    private static final String STAGE_METRIC = "auth.stage";
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_ERROR = "error";
 
     @Autowired
-    public AuthService(IUserRepository userRepository, IOtpRepository otpRepository, PasswordEncoder passwordEncoder, OtpUtil otpUtil, JwtUtil jwtUtil, RedisTemplate<String, Object> redisTemplate, RabbitMqService rabbitMqService) {
+    public AuthService(IUserRepository userRepository, IOtpRepository otpRepository, PasswordEncoder passwordEncoder, OtpUtil otpUtil, JwtUtil jwtUtil, OtpCacheService otpCacheService, RabbitMqService rabbitMqService, TokenRevocationService tokenRevocationService, RefreshTokenService refreshTokenService, PasswordRehashService passwordRehashService, LoginAuditService loginAuditService, TokenIntrospectionService tokenIntrospectionService, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.otpRepository = otpRepository;
         this.passwordEncoder = passwordEncoder;
         this.otpUtil = otpUtil;
         this.jwtUtil = jwtUtil;
-        this.redisTemplate = redisTemplate;
+        this.otpCacheService = otpCacheService;
         this.rabbitMqService = rabbitMqService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordRehashService = passwordRehashService;
+        this.loginAuditService = loginAuditService;
+        this.tokenIntrospectionService = tokenIntrospectionService;
+        this.meterRegistry = meterRegistry;
+        this.currentUserLookups = new SingleFlight<>("current_user", meterRegistry);
     }
 
     @Transactional
     public AuthResponse register(RegisterDTO request) {
-        log.info("Attempting to register user with email: {}", request.getEmail());
+        return observe("register", () -> registerUser(request));
+    }
+
+    // Failed attempts counted in the database have to be committed along with the rejection
+    @Transactional(noRollbackFor = AuthException.class)
+    public AuthResponse verifyOtp(OtpVerificationDTO request) {
+        return observe("verify", () -> verifyUserOtp(request));
+    }
+
+    public AuthResponse login(LoginDTO request) {
+        return observe("login", () -> loginUser(request));
+    }
+
+    public AuthResponse refresh(RefreshTokenDTO request) {
+        return observe("refresh", () -> refreshTokens(request));
+    }
+
+    public AuthResponse logout(String token, String refreshToken) {
+        return observe("logout", () -> logoutUser(token, refreshToken));
+    }
+
+    private AuthResponse registerUser(RegisterDTO request) {
+        long requestedAt = System.currentTimeMillis();
+        log.debug("Attempting to register user with email: {}", request.getEmail());
 
         // Check if user already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (stage("register", "check_email", () -> userRepository.existsByEmail(request.getEmail()))) {
             log.warn("Registration failed: Email {} already exists", request.getEmail());
-            throw new RuntimeException("Email already exists");
+            throw new EmailAlreadyExistsException("Email already exists");
         }
 
         // Create new user
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(stage("register", "hash_password", () -> passwordEncoder.encode(request.getPassword())));
         user.setAge(request.getAge());
         user.setActive(false);
 
-        User savedUser = userRepository.save(user);
+        User savedUser = stage("register", "insert_user", () -> userRepository.save(user));
         log.info("User created with ID: {}", savedUser.getId());
 
-        // Generate and store OTP
-        String otpCode = otpUtil.generateOtp();
-
-        // Store in PostgreSQL
-        Otp otp = new Otp();
-        otp.setUserId(savedUser.getId());
-        otp.setCode(otpCode);
-        otp.setExpirationTime(LocalDateTime.now().plusMinutes(OTP_EXPIRATION_MINUTES));
-        otp.setVerified(false);
-        otpRepository.save(otp);
-
-        // Store in Redis with TTL
-        String redisKey = REDIS_OTP_PREFIX + savedUser.getEmail();
-        redisTemplate.opsForValue().set(redisKey, otpCode, OTP_EXPIRATION_MINUTES, TimeUnit.MINUTES);
+        String otpCode;
+        if (otpUtil.isDerivedMode()) {
+            // Derived codes are recomputed at verification, nothing to store
+            otpCode = stage("register", "derive_otp", () -> otpUtil.deriveOtp(otpSubject(savedUser)));
+        } else {
+            // Generate and store OTP
+            otpCode = stage("register", "generate_otp", otpUtil::generateOtp);
+
+            // Store in PostgreSQL
+            Otp otp = new Otp();
+            otp.setUserId(savedUser.getId());
+            otp.setCode(otpCode);
+            otp.setExpirationTime(LocalDateTime.now().plusMinutes(OTP_EXPIRATION_MINUTES));
+            otp.setVerified(false);
+            stage("register", "insert_otp", () -> otpRepository.save(otp));
+
+            // Store in Redis with TTL, the database copy above is enough if Redis is unavailable
+            stage("register", "cache_otp", () -> otpCacheService.store(savedUser.getEmail(), otpCode, OTP_EXPIRATION_MINUTES));
+        }
 
         // Send OTP via RabbitMQ
         OtpEvent otpEvent = new OtpEvent(savedUser.getEmail(), otpCode, savedUser.getName());
-        rabbitMqService.sendOtpNotification(otpEvent);
+        otpEvent.setCreatedAt(requestedAt);
+        otpEvent.setExpiresAt(requestedAt + TimeUnit.MINUTES.toMillis(OTP_EXPIRATION_MINUTES));
+        stage("register", "publish_otp", () -> rabbitMqService.sendOtpNotification(otpEvent));
 
         log.info("OTP generated and sent for user: {}", savedUser.getEmail());
 
         return new AuthResponse("User registered successfully. Please verify your OTP.");
     }
 
-    @Transactional
-    public AuthResponse verifyOtp(OtpVerificationDTO request) {
-        log.info("Attempting to verify OTP for email: {}", request.getEmail());
+    private AuthResponse verifyUserOtp(OtpVerificationDTO request) {
+        log.debug("Attempting to verify OTP for email: {}", request.getEmail());
 
         // Find user
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = stage("verify", "find_user", () -> userRepository.findByEmail(request.getEmail()))
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        // Check OTP from Redis first
-        String redisKey = REDIS_OTP_PREFIX + request.getEmail();
-        String storedOtp = (String) redisTemplate.opsForValue().get(redisKey);
+        if (otpUtil.isDerivedMode()) {
+            return verifyDerivedOtp(user, request);
+        }
 
-        if (storedOtp == null || !storedOtp.equals(request.getOtpCode())) {
-            log.warn("OTP verification failed for email: {}", request.getEmail());
-            throw new RuntimeException("Invalid or expired OTP");
+        // Check OTP from Redis first, the database check below is enough while Redis is unavailable
+        Optional<OtpCacheService.OtpLookup> lookup = stage("verify", "cache_lookup",
+                () -> otpCacheService.fetchForVerification(request.getEmail(), OTP_EXPIRATION_MINUTES));
+        if (lookup.isPresent()) {
+            // The attempt is counted even when the code is missing from Redis
+            if (lookup.get().attempts() > MAX_OTP_ATTEMPTS) {
+                log.warn("Too many OTP attempts for email: {}", request.getEmail());
+                throw new TooManyAttemptsException("Too many OTP attempts. Please request a new code.");
+            }
+
+            String storedOtp = lookup.get().otpCode();
+
+            // Missing when it expired, or when Redis was unavailable at registration; the database decides then
+            if (storedOtp == null) {
+                log.debug("OTP not cached, verifying against database for email: {}", request.getEmail());
+            } else if (!storedOtp.equals(request.getOtpCode())) {
+                log.warn("OTP verification failed for email: {}", request.getEmail());
+                throw new InvalidOtpException("Invalid or expired OTP");
+            }
         }
 
         // Verify OTP in database and mark as verified
-        Otp otp = otpRepository.findByUserIdAndCodeAndVerifiedFalse(user.getId(), request.getOtpCode())
-                .orElseThrow(() -> new RuntimeException("Invalid OTP"));
+        // Codes expired for more than a day are in partitions that are about to be dropped anyway
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = now.minusDays(1);
+        LocalDateTime to = now.plusMinutes(OTP_EXPIRATION_MINUTES);
+        if (lookup.isEmpty()) {
+            // Redis did not count this attempt, the otp rows do so guessing stays limited during an outage
+            log.warn("Redis unavailable, verifying OTP against database for email: {}", request.getEmail());
+            stage("verify", "count_attempt", () -> otpRepository.incrementAttempts(user.getId(), from, to));
+        }
+        Otp otp = stage("verify", "find_otp", () -> otpRepository.findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(
+                        user.getId(), request.getOtpCode(), from, to))
+                .orElseThrow(() -> new InvalidOtpException("Invalid OTP"));
 
-        if (otp.getExpirationTime().isBefore(LocalDateTime.now())) {
+        if (otp.getAttempts() > MAX_OTP_ATTEMPTS) {
+            log.warn("Too many OTP attempts for email: {}", request.getEmail());
+            throw new TooManyAttemptsException("Too many OTP attempts. Please request a new code.");
+        }
+
+        if (otp.getExpirationTime().isBefore(now)) {
             log.warn("OTP expired for email: {}", request.getEmail());
-            throw new RuntimeException("OTP has expired");
+            throw new OtpExpiredException("OTP has expired");
         }
 
         // Activate user account
-        user.setActive(true);
-        userRepository.save(user);
+        activate(user);
 
         // Mark OTP as verified
         otp.setVerified(true);
-        otpRepository.save(otp);
+        stage("verify", "mark_otp", () -> otpRepository.save(otp));
 
         // Remove OTP from Redis
-        redisTemplate.delete(redisKey);
+        stage("verify", "cache_evict", () -> otpCacheService.evict(request.getEmail()));
 
         log.info("OTP verified successfully for user: {}", request.getEmail());
 
         return new AuthResponse("OTP verified successfully. Account activated.");
     }
 
-    public AuthResponse login(LoginDTO request) {
-        log.info("Attempting login for email: {}", request.getEmail());
+    /**
+     * Derived mode: recompute the code instead of reading it, Redis only counts attempts and
+     * remembers used codes. Without Redis neither can be enforced, so verification is refused.
+     */
+    private AuthResponse verifyDerivedOtp(User user, OtpVerificationDTO request) {
+        OtpCacheService.OtpLookup lookup = stage("verify", "cache_lookup",
+                () -> otpCacheService.fetchForVerification(request.getEmail(), OTP_EXPIRATION_MINUTES))
+                .orElseThrow(() -> new OtpUnavailableException("OTP verification is temporarily unavailable. Please try again."));
+        if (lookup.attempts() > MAX_OTP_ATTEMPTS) {
+            log.warn("Too many OTP attempts for email: {}", request.getEmail());
+            throw new TooManyAttemptsException("Too many OTP attempts. Please request a new code.");
+        }
+
+        if (!stage("verify", "check_otp", () -> otpUtil.matchesDerivedOtp(otpSubject(user), request.getOtpCode()))) {
+            log.warn("OTP verification failed for email: {}", request.getEmail());
+            throw new InvalidOtpException("Invalid or expired OTP");
+        }
+
+        long markerTtl = otpUtil.derivedOtpLifetime().toMillis();
+        if (!stage("verify", "mark_used", () -> otpCacheService.markUsed(request.getEmail(), request.getOtpCode(), markerTtl))) {
+            log.warn("OTP replay rejected for email: {}", request.getEmail());
+            throw new InvalidOtpException("Invalid or expired OTP");
+        }
+
+        activate(user);
+        stage("verify", "cache_evict", () -> otpCacheService.evict(request.getEmail()));
+
+        log.info("OTP verified successfully for user: {}", request.getEmail());
+
+        return new AuthResponse("OTP verified successfully. Account activated.");
+    }
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid credentials"));
+    private AuthResponse loginUser(LoginDTO request) {
+        log.debug("Attempting login for email: {}", request.getEmail());
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        User user = stage("login", "find_user", () -> userRepository.findByEmail(request.getEmail()))
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid credentials"));
+
+        if (!stage("login", "check_password", () -> passwordEncoder.matches(request.getPassword(), user.getPassword()))) {
             log.warn("Login failed: Invalid password for email: {}", request.getEmail());
-            throw new RuntimeException("Invalid credentials");
+            throw new InvalidCredentialsException("Invalid credentials");
         }
 
         if (!user.getActive()) {
             log.warn("Login failed: Account not activated for email: {}", request.getEmail());
-            throw new RuntimeException("Account not activated. Please verify your OTP first.");
+            throw new AccountNotActivatedException("Account not activated. Please verify your OTP first.");
         }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getId());
+        // Hashes from an older algorithm or work factor are rewritten in the background
+        stage("login", "rehash_check", () -> passwordRehashService.rehashIfStale(user, request.getPassword()));
+
+        String token = stage("login", "sign_token", () -> jwtUtil.generateToken(user.getEmail(), user.getId()));
         UserDTO userDto = new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getAge(), user.getActive());
 
         log.info("Login successful for user: {}", request.getEmail());
 
-        return new AuthResponse(token, "Login successful", userDto);
+        AuthResponse response = new AuthResponse(token, "Login successful", userDto);
+        response.setRefreshToken(stage("login", "issue_refresh_token", () -> refreshTokenService.issue(user.getId())));
+
+        // Queued only, last_login_at and login_history are written in batches in the background
+        loginAuditService.record(user.getId());
+        return response;
+    }
+
+    private AuthResponse refreshTokens(RefreshTokenDTO request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+
+        User user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        if (!user.getActive()) {
+            log.warn("Token refresh failed: Account not active for user: {}", user.getEmail());
+            throw new AccountNotActivatedException("Account not activated. Please verify your OTP first.");
+        }
+
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId());
+        UserDTO userDto = new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getAge(), user.getActive());
+
+        log.info("Token refreshed for user: {}", user.getEmail());
+
+        AuthResponse response = new AuthResponse(token, "Token refreshed", userDto);
+        response.setRefreshToken(rotation.refreshToken());
+        return response;
+    }
+
+    private AuthResponse logoutUser(String token, String refreshToken) {
+        Claims claims = jwtUtil.extractAllClaims(token);
+        // The refresh token first, it is revoked in the database even when Redis is down
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+
+        log.info("Logout successful for user: {}", claims.getSubject());
+
+        return new AuthResponse("Logged out successfully");
     }
 
     public UserDTO getCurrentUser(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Coalesced as a DTO rather than the entity, which belongs to the leader's persistence context
+        return currentUserLookups.execute(email, () -> {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+            return new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getAge(), user.getActive());
+        });
+    }
+
+    private void activate(User user) {
+        user.setActive(true);
+        stage("verify", "activate_user", () -> userRepository.save(user));
+        // Introspection must not keep answering with the inactive account
+        tokenIntrospectionService.evict(user.getId());
+    }
+
+    // Derived codes are bound to the account, not only the email, so a re-created account gets different codes
+    private static String otpSubject(User user) {
+        return user.getId() + ":" + user.getEmail();
+    }
+
+    /**
+     * Times a whole operation and tags it with its outcome, as a metric and as a JFR event
+     */
+    private AuthResponse observe(String operation, Supplier<AuthResponse> body) {
+        AuthOperationEvent event = new AuthOperationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            AuthResponse response = body.get();
+            outcome = OUTCOME_SUCCESS;
+            return response;
+        } catch (AuthException e) {
+            outcome = e.getOutcome();
+            throw e;
+        } finally {
+            timer(OPERATION_METRIC, "operation", operation, "outcome", outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private <T> T stage(String operation, String stage, Supplier<T> step) {
+        AuthStageEvent event = new AuthStageEvent();
+        event.begin();
+        try {
+            return timer(STAGE_METRIC, "operation", operation, "stage", stage).record(step);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.stage = stage;
+                event.commit();
+            }
+        }
+    }
+
+    private void stage(String operation, String stage, Runnable step) {
+        stage(operation, stage, () -> {
+            step.run();
+            return null;
+        });
+    }
+
 
-        return new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getAge(), user.getActive());
+    // Timers are cached so the hot path does not rebuild meter ids on every call
+    private Timer timer(String name, String firstTag, String firstValue, String secondTag, String secondValue) {
+        return timers.computeIfAbsent(name + '|' + firstValue + '|' + secondValue, key -> Timer.builder(name)
+                .tag(firstTag, firstValue)
+                .tag(secondTag, secondValue)
+                .register(meterRegistry));
     }
-}
\ No newline at end of file
+}
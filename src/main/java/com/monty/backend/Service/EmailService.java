@@ -1,6 +1,8 @@
 package com.monty.backend.Service;
 
 import com.monty.backend.DTO.OtpEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
@@ -14,31 +16,47 @@ import org.springframework.stereotype.Service;
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final ObservationRegistry observationRegistry;
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
     @Autowired
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, ObservationRegistry observationRegistry) {
         this.mailSender = mailSender;
+        this.observationRegistry = observationRegistry;
     }
 
     public void sendOtpEmail(OtpEvent otpEvent) {
-        try {
+        // Timer otp.email.send{outcome} plus an SMTP span in the trace of the consumed message
+        Observation observation = Observation.createNotStarted("otp.email.send", observationRegistry)
+                .contextualName("smtp send")
+                .start();
+        String outcome = "failed";
+        try (Observation.Scope scope = observation.openScope()) {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
             helper.setTo(otpEvent.getEmail());
             helper.setSubject("Your OTP Code - Monty Mobile");
-            helper.setText(buildEmailContent(otpEvent), true);
+            helper.setText(Observation.createNotStarted("otp.email.render", observationRegistry)
+                    .observe(() -> buildEmailContent(otpEvent)), true);
 
             mailSender.send(message);
+            outcome = "sent";
             log.info("OTP email sent successfully to: {}", otpEvent.getEmail());
         } catch (MessagingException e) {
             log.error("Failed to send OTP email to: {}", otpEvent.getEmail(), e);
+            observation.error(e);
             throw new RuntimeException("Failed to send OTP email", e);
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome);
+            observation.stop();
         }
     }
 
-    private String buildEmailContent(OtpEvent otpEvent) {
+    String buildEmailContent(OtpEvent otpEvent) {
         return """
             <!DOCTYPE html>
             <html>
@@ -0,0 +1,143 @@
+package com.monty.backend.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Always-on Flight Recorder recording, kept on disk for a bounded time and size.
+ *
+ * Uses the JDK "default" settings (designed for production, around 1% overhead) with
+ * allocation sampling and lock/park thresholds tuned so allocation and contention
+ * profiles are available after the fact. The custom com.monty.* events are recorded as well.
+ */
+@Service
+public class FlightRecorderService {
+
+    public static final String RECORDING_NAME = "monty-continuous";
+    // Dumps are deleted once downloaded; this only catches those whose download never finished
+    private static final Duration DUMP_RETENTION = Duration.ofHours(1);
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Path dumpDirectory;
+    private Recording recording;
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    @Autowired
+    public FlightRecorderService(@Value("${jfr.continuous.enabled:true}") boolean enabled,
+                                 @Value("${jfr.continuous.settings:default}") String settings,
+                                 @Value("${jfr.continuous.max-age:PT30M}") Duration maxAge,
+                                 @Value("${jfr.continuous.max-size:256MB}") DataSize maxSize,
+                                 @Value("${jfr.continuous.dump-directory:${java.io.tmpdir}/monty-jfr}") Path dumpDirectory) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.dumpDirectory = dumpDirectory;
+    }
+
+    @PostConstruct
+    public void start() throws Exception {
+        if (!enabled) {
+            return;
+        }
+
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+
+        recording.enable("jdk.ObjectAllocationSample").with("throttle", "150/s");
+        recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(10));
+        recording.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(10));
+        recording.enable("com.monty.auth.Operation");
+        recording.enable("com.monty.auth.Stage");
+        recording.enable("com.monty.auth.JwtFilter");
+        recording.enable("com.monty.otp.Consume");
+
+        recording.start();
+        log.info("Continuous JFR recording started, keeping {} / {}", maxAge, maxSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    /**
+     * Writes the last minutes of the continuous recording to a new file, which the caller deletes
+     * once it has been sent. Dumps older than an hour are removed on the next call.
+     */
+    public Path dump(int minutes) throws Exception {
+        if (recording == null) {
+            throw new IllegalStateException("Continuous recording is not running");
+        }
+
+        Files.createDirectories(dumpDirectory);
+        FileTime cutoff = FileTime.from(Instant.now().minus(DUMP_RETENTION));
+        try (Stream<Path> previous = Files.list(dumpDirectory)) {
+            previous.filter(path -> path.toString().endsWith(".jfr") && isOlderThan(path, cutoff)).forEach(FlightRecorderService::deleteQuietly);
+        }
+        // A unique name, so concurrent dumps never write to or delete each other's file
+        Path file = Files.createTempFile(dumpDirectory, "monty-", ".jfr");
+
+        try {
+            // JFR.dump can cut the recording by start time, the Recording API can only dump all of it
+            ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                    "jfrDump",
+                    new Object[]{new String[]{"name=" + RECORDING_NAME, "begin=-" + minutes + "m", "filename=" + file.toAbsolutePath()}},
+                    new String[]{String[].class.getName()});
+        } catch (Exception e) {
+            deleteQuietly(file);
+            throw e;
+        }
+
+        log.info("Dumped last {} minutes of JFR recording to {}", minutes, file);
+        return file;
+    }
+
+    private static boolean isOlderThan(Path path, FileTime cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).compareTo(cutoff) < 0;
+        } catch (IOException e) {
+            // Already deleted by another dump
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete old JFR dump {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.monty.backend.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind login audit: users.last_login_at and the login_history table.
+ *
+ * {@link #record} only appends to a bounded lock-free queue, so login never waits for the
+ * database. A single flusher thread drains the queue every flush-interval, or as soon as a batch
+ * is full, and writes it with one multi-row INSERT into login_history plus one JDBC batch of
+ * last_login_at UPDATEs. Having one consumer keeps each user's logins in order, and an UPDATE
+ * never moves last_login_at backwards. When the queue is full new events are dropped and counted,
+ * a failed batch is logged and counted; the audit trail is best effort by design. The queue is
+ * drained on shutdown.
+ *
+ * Metrics: login.audit.events{result=queued|dropped|written|failed}, login.audit.queue.size
+ * and login.audit.flush.
+ */
+@Service
+public class LoginAuditService {
+
+    private static final String EVENTS_METRIC = "login.audit.events";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+    private final int batchSize;
+    private final ConcurrentLinkedQueue<LoginEvent> queue = new ConcurrentLinkedQueue<>();
+    // The queue itself is unbounded, slots are reserved here before an event is added
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+    private final Counter queued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer flushTimer;
+    private static final Logger log = LoggerFactory.getLogger(LoginAuditService.class);
+
+    public record LoginEvent(Long userId, LocalDateTime loginAt) {
+    }
+
+    @Autowired
+    public LoginAuditService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                             @Value("${login-audit.queue-capacity:10000}") int capacity,
+                             @Value("${login-audit.batch-size:500}") int batchSize,
+                             @Value("${login-audit.flush-interval:PT1S}") Duration flushInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.queued = meterRegistry.counter(EVENTS_METRIC, "result", "queued");
+        this.dropped = meterRegistry.counter(EVENTS_METRIC, "result", "dropped");
+        this.written = meterRegistry.counter(EVENTS_METRIC, "result", "written");
+        this.failed = meterRegistry.counter(EVENTS_METRIC, "result", "failed");
+        this.flushTimer = meterRegistry.timer("login.audit.flush");
+        Gauge.builder("login.audit.queue.size", size, AtomicInteger::get).register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("login-audit").daemon().factory());
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a successful login, never blocks
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean record(Long userId) {
+        int reserved = size.incrementAndGet();
+        if (reserved > capacity) {
+            size.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        queue.add(new LoginEvent(userId, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)));
+        queued.increment();
+
+        // Only one early flush is queued on the flusher at a time
+        if (reserved >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Shutting down, the final drain picks the event up
+                flushRequested.set(false);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes everything queued so far, one batch at a time. Runs on the flusher thread, or on the
+     * caller once the flusher has stopped.
+     */
+    public void flush() {
+        flushRequested.set(false);
+        List<LoginEvent> batch = new ArrayList<>(batchSize);
+        LoginEvent event;
+        while ((event = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(event);
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Login audit flush failed: {}", e.getMessage());
+        }
+    }
+
+    private void write(List<LoginEvent> batch) {
+        try {
+            flushTimer.record(() -> {
+                StringJoiner rows = new StringJoiner(", ", "insert into login_history (user_id, login_at) values ", "");
+                Object[] args = new Object[batch.size() * 2];
+                for (int i = 0; i < batch.size(); i++) {
+                    rows.add("(?, ?)");
+                    args[2 * i] = batch.get(i).userId();
+                    args[2 * i + 1] = batch.get(i).loginAt();
+                }
+                jdbcTemplate.update(rows.toString(), args);
+
+                // Latest login per user; events of one user are in queue order, so the last one wins
+                Map<Long, LocalDateTime> lastLogins = new LinkedHashMap<>();
+                batch.forEach(login -> lastLogins.put(login.userId(), login.loginAt()));
+                List<Object[]> updates = new ArrayList<>(lastLogins.size());
+                lastLogins.forEach((userId, loginAt) -> updates.add(new Object[]{loginAt, userId, loginAt}));
+                jdbcTemplate.batchUpdate("update users set last_login_at = ? where id = ? " +
+                        "and (last_login_at is null or last_login_at < ?)", updates);
+            });
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("Could not write {} login audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the timer and writes whatever is still queued
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            flusher.shutdownNow();
+        }
+        flush();
+    }
+}
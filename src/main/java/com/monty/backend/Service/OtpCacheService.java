@@ -0,0 +1,154 @@
+package com.monty.backend.Service;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis side of the OTP flow. Every multi-key operation is sent as a single
+ * round-trip (pipeline or script) instead of one blocking call per command.
+ *
+ * All keys for one email share the {email} hash tag, so they live in the same
+ * cluster slot and can be touched together by a script.
+ *
+ * Redis is only a fast path: in stored OTP mode PostgreSQL holds every OTP as well. Calls go through
+ * the "redis" circuit breaker and degrade instead of throwing, so a slow or
+ * unreachable Redis costs at most one command timeout until the breaker opens.
+ * In derived OTP mode nothing is stored; Redis only counts attempts and holds
+ * used-code markers.
+ */
+@Service
+public class OtpCacheService {
+
+    public static final String CIRCUIT_BREAKER = "redis";
+
+    private static final String OTP_PREFIX = "otp:";
+    private static final String ATTEMPTS_SUFFIX = ":attempts";
+    private static final String USED_SUFFIX = ":used:";
+    private static final String FALLBACK_METRIC = "otp.cache.fallback";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> FETCH_AND_COUNT_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/otp-fetch-and-count.lua"), List.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private static final Logger log = LoggerFactory.getLogger(OtpCacheService.class);
+
+    @Autowired
+    public OtpCacheService(RedisTemplate<String, Object> redisTemplate, CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Stores the OTP with its TTL and resets the attempt counter for the email
+     * @return false if Redis is unavailable and the OTP only lives in the database
+     */
+    public boolean store(String email, String otpCode, long ttlMinutes) {
+        try {
+            circuitBreaker.executeRunnable(() -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.opsForValue().set(otpKey(email), otpCode, ttlMinutes, TimeUnit.MINUTES);
+                    ops.delete(attemptsKey(email));
+                    return null;
+                }
+            }));
+            return true;
+        } catch (Exception e) {
+            degraded("store", e);
+            return false;
+        }
+    }
+
+    /**
+     * Atomically reads the stored OTP and counts one verification attempt against it.
+     * Runs as a script, so it always executes on the master even when replica reads are enabled.
+     * @return the stored code (null if missing or expired) and the attempt count including this one,
+     * or empty if Redis is unavailable and the caller must fall back to the database
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Optional<OtpLookup> fetchForVerification(String email, long ttlMinutes) {
+        try {
+            List<Object> results = circuitBreaker.executeSupplier(() -> redisTemplate.execute(
+                    FETCH_AND_COUNT_SCRIPT,
+                    RedisSerializer.string(),
+                    (RedisSerializer<List>) redisTemplate.getValueSerializer(),
+                    List.of(otpKey(email), attemptsKey(email)),
+                    String.valueOf(TimeUnit.MINUTES.toMillis(ttlMinutes))));
+
+            String storedOtp = (String) results.get(0);
+            long attempts = results.get(1) == null ? 0 : ((Number) results.get(1)).longValue();
+            return Optional.of(new OtpLookup(storedOtp, attempts));
+        } catch (Exception e) {
+            degraded("fetch", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Removes the OTP and its attempt counter. A failure only leaves the keys to expire by TTL.
+     */
+    public void evict(String email) {
+        try {
+            circuitBreaker.executeSupplier(() -> redisTemplate.delete(List.of(otpKey(email), attemptsKey(email))));
+        } catch (Exception e) {
+            degraded("evict", e);
+        }
+    }
+
+    /**
+     * Records that a derived OTP has been used, so it cannot be replayed while it is still valid.
+     * @return true if this is the first use; false if it was used before or Redis is unavailable,
+     * since without the marker a replay cannot be ruled out
+     */
+    public boolean markUsed(String email, String otpCode, long ttlMillis) {
+        try {
+            return Boolean.TRUE.equals(circuitBreaker.executeSupplier(() -> redisTemplate.opsForValue()
+                    .setIfAbsent(usedKey(email, otpCode), Boolean.TRUE, ttlMillis, TimeUnit.MILLISECONDS)));
+        } catch (Exception e) {
+            degraded("mark_used", e);
+            return false;
+        }
+    }
+
+    private void degraded(String operation, Exception e) {
+        meterRegistry.counter(FALLBACK_METRIC, "operation", operation).increment();
+        log.warn("Redis {} skipped, circuit breaker is {}: {}", operation, circuitBreaker.getState(), e.getMessage());
+    }
+
+    static String otpKey(String email) {
+        return OTP_PREFIX + "{" + email + "}";
+    }
+
+    static String attemptsKey(String email) {
+        return otpKey(email) + ATTEMPTS_SUFFIX;
+    }
+
+    static String usedKey(String email, String otpCode) {
+        return otpKey(email) + USED_SUFFIX + otpCode;
+    }
+
+    public record OtpLookup(String otpCode, long attempts) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.monty.backend.Service;
+
+import com.monty.backend.DTO.OtpEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end OTP delivery latency, from the register request to the mail being handed to SMTP.
+ *
+ * A delivery is "good" when it completes within the target; failed sends are "bad".
+ * Besides the meters, the last six hours of good/bad counts are kept in one-minute buckets
+ * so the otpslo actuator endpoint can report error budget burn rates for this instance.
+ */
+@Service
+public class OtpDeliveryTracker {
+
+    private static final int BUCKETS = 360;
+    private static final long BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final Map<String, Integer> WINDOWS_MINUTES = new LinkedHashMap<>();
+
+    static {
+        WINDOWS_MINUTES.put("5m", 5);
+        WINDOWS_MINUTES.put("30m", 30);
+        WINDOWS_MINUTES.put("1h", 60);
+        WINDOWS_MINUTES.put("6h", 360);
+    }
+
+    private final Timer queueWait;
+    private final Timer deliveryTime;
+    private final Counter lateDeliveries;
+    private final Counter failedDeliveries;
+    private final Duration target;
+    private final double objective;
+
+    private final long[] bucketStart = new long[BUCKETS];
+    private final long[] good = new long[BUCKETS];
+    private final long[] bad = new long[BUCKETS];
+
+    @Autowired
+    public OtpDeliveryTracker(MeterRegistry meterRegistry,
+                              @Value("${otp.slo.delivery-target:PT10S}") Duration target,
+                              @Value("${otp.slo.objective:0.99}") double objective) {
+        this.target = target;
+        this.objective = objective;
+        this.queueWait = Timer.builder("otp.delivery.queue.wait")
+                .description("Time OTP messages spent in RabbitMQ before being consumed")
+                .register(meterRegistry);
+        this.deliveryTime = Timer.builder("otp.delivery.total")
+                .description("Time from the register request to the OTP mail being sent")
+                .serviceLevelObjectives(target)
+                .register(meterRegistry);
+        this.lateDeliveries = Counter.builder("otp.delivery.late")
+                .description("OTPs delivered after they had already expired")
+                .register(meterRegistry);
+        this.failedDeliveries = Counter.builder("otp.delivery.failed")
+                .register(meterRegistry);
+    }
+
+    public void recordQueueWait(OtpEvent otpEvent, long now) {
+        if (otpEvent.getPublishedAt() > 0) {
+            queueWait.record(Math.max(0, now - otpEvent.getPublishedAt()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordDelivered(OtpEvent otpEvent, long now) {
+        if (otpEvent.getCreatedAt() <= 0) {
+            return;
+        }
+        long elapsed = Math.max(0, now - otpEvent.getCreatedAt());
+        deliveryTime.record(elapsed, TimeUnit.MILLISECONDS);
+        if (otpEvent.getExpiresAt() > 0 && now > otpEvent.getExpiresAt()) {
+            lateDeliveries.increment();
+        }
+        count(now, elapsed <= target.toMillis());
+    }
+
+    public void recordFailed(OtpEvent otpEvent, long now) {
+        failedDeliveries.increment();
+        count(now, false);
+    }
+
+    private synchronized void count(long now, boolean withinTarget) {
+        int index = bucket(now);
+        if (withinTarget) {
+            good[index]++;
+        } else {
+            bad[index]++;
+        }
+    }
+
+    // Reuses a bucket once it is older than the tracked six hours
+    private int bucket(long now) {
+        long start = now - now % BUCKET_MILLIS;
+        int index = (int) ((start / BUCKET_MILLIS) % BUCKETS);
+        if (bucketStart[index] != start) {
+            bucketStart[index] = start;
+            good[index] = 0;
+            bad[index] = 0;
+        }
+        return index;
+    }
+
+    /**
+     * Burn rate per window: the observed bad ratio divided by the ratio the objective allows.
+     * 1.0 spends the error budget exactly over the SLO period, 14.4 spends a 30 day budget in 2 days.
+     */
+    public synchronized SloSnapshot snapshot(long now) {
+        long currentStart = now - now % BUCKET_MILLIS;
+        Map<String, WindowSummary> windows = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> window : WINDOWS_MINUTES.entrySet()) {
+            long oldestStart = currentStart - (window.getValue() - 1) * BUCKET_MILLIS;
+            long windowGood = 0;
+            long windowBad = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (bucketStart[i] >= oldestStart && bucketStart[i] <= currentStart) {
+                    windowGood += good[i];
+                    windowBad += bad[i];
+                }
+            }
+            long total = windowGood + windowBad;
+            double badRatio = total == 0 ? 0 : (double) windowBad / total;
+            windows.put(window.getKey(), new WindowSummary(total, windowBad, badRatio / (1 - objective)));
+        }
+
+        // Multi-window alerts: fast burn pages, slow burn opens a ticket
+        boolean fastBurn = windows.get("1h").burnRate() > 14.4 && windows.get("5m").burnRate() > 14.4;
+        boolean slowBurn = windows.get("6h").burnRate() > 6 && windows.get("30m").burnRate() > 6;
+
+        return new SloSnapshot(target.toString(), objective, windows, fastBurn, slowBurn, lateDeliveries.count());
+    }
+
+    public record WindowSummary(long deliveries, long slowOrFailed, double burnRate) {
+    }
+
+    public record SloSnapshot(String target, double objective, Map<String, WindowSummary> windows,
+                              boolean fastBurn, boolean slowBurn, double lateDeliveries) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.monty.backend.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Keeps the daily partitions of the otp table (see db/otp-partitioning.sql) moving: creates the
+ * partitions for the coming days ahead of time and drops whole partitions once they are past
+ * retention, which is a metadata change instead of a DELETE of every expired row.
+ *
+ * Does nothing until the table has been partitioned. Instances coordinate through a transaction
+ * level advisory lock, and lock_timeout keeps a DROP from queueing behind long-running queries
+ * on otp; a run that cannot get its locks is retried at the next interval.
+ * Counts otp.partitions{action=created|dropped}.
+ */
+@Service
+@ConditionalOnProperty(name = "otp.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class OtpPartitionService {
+
+    static final String PARTITION_PREFIX = "otp_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    // Arbitrary constant shared by all instances, identifies this job's advisory lock
+    private static final long ADVISORY_LOCK_KEY = 0x6f74705f70617274L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int premakeDays;
+    private final int retentionDays;
+    private final String lockTimeout;
+    private static final Logger log = LoggerFactory.getLogger(OtpPartitionService.class);
+
+    @Autowired
+    public OtpPartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${otp.partitions.premake-days:7}") int premakeDays,
+                               @Value("${otp.partitions.retention-days:2}") int retentionDays,
+                               @Value("${otp.partitions.lock-timeout-ms:2000}") int lockTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.premakeDays = premakeDays;
+        this.retentionDays = retentionDays;
+        this.lockTimeout = lockTimeoutMillis + "ms";
+    }
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "${otp.partitions.maintenance-interval:PT1H}")
+    public void maintainPartitions() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> maintain(LocalDate.now()));
+        } catch (Exception e) {
+            log.warn("OTP partition maintenance failed, retrying at the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Must run inside a transaction, the advisory lock and lock_timeout are released at its end
+     */
+    public void maintain(LocalDate today) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass('otp'))", Boolean.class))) {
+            log.debug("otp is not partitioned, nothing to maintain");
+            return;
+        }
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY))) {
+            log.debug("OTP partition maintenance is running on another instance");
+            return;
+        }
+        jdbcTemplate.execute("set local lock_timeout = '" + lockTimeout + "'");
+
+        for (int day = 0; day <= premakeDays; day++) {
+            LocalDate from = today.plusDays(day);
+            Integer created = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_class where relname = ?", Integer.class, partitionName(from));
+            if (created != null && created == 0) {
+                jdbcTemplate.execute("create table " + partitionName(from) + " partition of otp for values from ('"
+                        + from + "') to ('" + from.plusDays(1) + "')");
+                count("created");
+                log.info("Created OTP partition {}", partitionName(from));
+            }
+        }
+
+        // A partition is dropped once every code in it has been expired for the whole retention period
+        LocalDate oldestKept = today.minusDays(retentionDays);
+        List<String> partitions = jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid where i.inhparent = to_regclass('otp')",
+                String.class);
+        for (String partition : partitions) {
+            LocalDate day = partitionDay(partition);
+            if (day != null && day.isBefore(oldestKept)) {
+                jdbcTemplate.execute("drop table " + partition);
+                count("dropped");
+                log.info("Dropped OTP partition {}", partition);
+            }
+        }
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(day);
+    }
+
+    // Null for partitions not created by this naming scheme, those are left alone
+    private static LocalDate partitionDay(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private void count(String action) {
+        meterRegistry.counter("otp.partitions", "action", action).increment();
+    }
+}
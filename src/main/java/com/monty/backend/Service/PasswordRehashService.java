@@ -0,0 +1,81 @@
+package com.monty.backend.Service;
+
+import com.monty.backend.Model.User;
+import com.monty.backend.Repository.IUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rewrites password hashes that use an old algorithm or work factor, see PasswordEncoderConfig.
+ *
+ * The new hash is computed on a small background pool, never on the login thread, and stored
+ * with a compare-and-set on the old hash. If the queue is full the upgrade is simply skipped;
+ * the user's next login will try again.
+ */
+@Service
+public class PasswordRehashService {
+
+    private static final String REHASH_METRIC = "password.rehash";
+
+    private final PasswordEncoder passwordEncoder;
+    private final IUserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private static final Logger log = LoggerFactory.getLogger(PasswordRehashService.class);
+
+    @Autowired
+    public PasswordRehashService(PasswordEncoder passwordEncoder, IUserRepository userRepository, MeterRegistry meterRegistry,
+                                 @Value("${password.rehash.threads:1}") int threads,
+                                 @Value("${password.rehash.queue-size:100}") int queueSize) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), Thread.ofPlatform().name("password-rehash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues a rehash if the stored hash is stale. Call only after the raw password has matched.
+     */
+    public void rehashIfStale(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> rehash(user.getId(), currentHash, rawPassword));
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter(REHASH_METRIC, "outcome", "skipped").increment();
+        }
+    }
+
+    void rehash(Long userId, String currentHash, String rawPassword) {
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            boolean replaced = userRepository.replacePasswordHash(userId, currentHash, newHash) == 1;
+            meterRegistry.counter(REHASH_METRIC, "outcome", replaced ? "upgraded" : "stale").increment();
+            log.debug("Password hash upgraded for user {}: {}", userId, replaced);
+        } catch (Exception e) {
+            meterRegistry.counter(REHASH_METRIC, "outcome", "error").increment();
+            log.warn("Could not upgrade password hash for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -1,6 +1,9 @@
 package com.monty.backend.Service;
 
 import com.monty.backend.DTO.OtpEvent;
+import com.monty.backend.Util.OtpConsumeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -14,6 +17,8 @@ public class RabbitMqService {
 
     private final RabbitTemplate rabbitTemplate;
     private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+    private final OtpDeliveryTracker otpDeliveryTracker;
 
     public static final String OTP_EXCHANGE = "otp.exchange";
     public static final String OTP_QUEUE = "otp.queue";
@@ -24,9 +29,11 @@ public class RabbitMqService {
     private boolean emailEnabled;
 
     @Autowired
-    public RabbitMqService(RabbitTemplate rabbitTemplate, EmailService emailService) {
+    public RabbitMqService(RabbitTemplate rabbitTemplate, EmailService emailService, MeterRegistry meterRegistry, OtpDeliveryTracker otpDeliveryTracker) {
         this.rabbitTemplate = rabbitTemplate;
         this.emailService = emailService;
+        this.meterRegistry = meterRegistry;
+        this.otpDeliveryTracker = otpDeliveryTracker;
     }
 
     /**
@@ -34,6 +41,7 @@ public class RabbitMqService {
      */
     public void sendOtpNotification(OtpEvent otpEvent) {
         try {
+            otpEvent.setPublishedAt(System.currentTimeMillis());
             rabbitTemplate.convertAndSend(OTP_EXCHANGE, OTP_ROUTING_KEY, otpEvent);
             log.info("OTP notification sent to queue for email: {}", otpEvent.getEmail());
         } catch (Exception e) {
@@ -47,21 +55,39 @@ public class RabbitMqService {
      */
     @RabbitListener(queues = OTP_QUEUE)
     public void consumeOtpMessage(OtpEvent otpEvent) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        OtpConsumeEvent event = new OtpConsumeEvent();
+        event.begin();
+        long receivedAt = System.currentTimeMillis();
+        String outcome = "failed";
         try {
             log.info("Received OTP message for email: {}", otpEvent.getEmail());
+            otpDeliveryTracker.recordQueueWait(otpEvent, receivedAt);
 
             if (emailEnabled) {
                 // Send real email
                 emailService.sendOtpEmail(otpEvent);
                 log.info("Real OTP email sent successfully to: {}", otpEvent.getEmail());
+                outcome = "sent";
             } else {
                 // Fallback to simulation for development
                 simulateEmailSending(otpEvent);
                 log.info("OTP email simulated for: {}", otpEvent.getEmail());
+                outcome = "simulated";
             }
+            otpDeliveryTracker.recordDelivered(otpEvent, System.currentTimeMillis());
 
         } catch (Exception e) {
             log.error("Failed to process OTP message for email: {}", otpEvent.getEmail(), e);
+            otpDeliveryTracker.recordFailed(otpEvent, System.currentTimeMillis());
+        } finally {
+            sample.stop(meterRegistry.timer("otp.consume", "outcome", outcome));
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = outcome;
+                event.queueWait = otpEvent.getPublishedAt() > 0 ? Math.max(0, receivedAt - otpEvent.getPublishedAt()) : 0;
+                event.commit();
+            }
         }
     }
 
@@ -72,7 +98,8 @@ public class RabbitMqService {
         log.info("=== EMAIL SIMULATION ===");
         log.info("To: {}", otpEvent.getEmail());
         log.info("Subject: Your OTP Code");
-        log.info("Body: Hello {}, your OTP code is: {}", otpEvent.getUserName(), otpEvent.getOtpCode());
+        // The code itself is never logged: log masking only recognises decimal codes, and otp.alphabet may not be.
+        log.info("Body: Hello {}, your OTP code is: [not logged]", otpEvent.getUserName());
         log.info("This code will expire in 5 minutes.");
         log.info("========================");
 
@@ -0,0 +1,181 @@
+package com.monty.backend.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.monty.backend.DTO.TokenIntrospectionDTO;
+import com.monty.backend.Exception.InvalidTokenException;
+import com.monty.backend.Model.User;
+import com.monty.backend.Repository.IUserRepository;
+import com.monty.backend.Util.JwtUtil;
+import com.monty.backend.Util.SingleFlight;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers "is this token valid and whose is it" for internal services.
+ *
+ * Signature and expiry are checked locally by JwtUtil and revocation through the Bloom filter,
+ * so the only remote lookup is the account behind the token. Accounts are cached in memory for
+ * a short time, and the misses of a whole batch are loaded with one query. Changes made through
+ * this instance evict the account; changes made by another instance or directly in the database
+ * are reported (e.g. a deactivated account as active) for up to introspection.principal-cache.ttl.
+ *
+ * Gateways ask about the same token many times during its life, and an EdDSA/ECDSA verification
+ * costs far more than everything else here, so verified claims are cached per token string as
+ * well. Revocation is still checked on every call; a removed signing key is only noticed once
+ * the cached entry expires.
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private static final String INTROSPECTION_METRIC = "auth.introspection";
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final IUserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final Cache<Long, Principal> principals;
+    private final Cache<String, Claims> verifiedTokens;
+    // After the cache entry for a popular account expires, concurrent batches missing the same id share one query
+    private final SingleFlight<Long, Principal> principalLoads;
+
+    @Autowired
+    public TokenIntrospectionService(JwtUtil jwtUtil, TokenRevocationService tokenRevocationService,
+                                     IUserRepository userRepository, MeterRegistry meterRegistry,
+                                     @Value("${introspection.principal-cache.max-size:100000}") long maxSize,
+                                     @Value("${introspection.principal-cache.ttl:PT1M}") Duration ttl,
+                                     @Value("${introspection.token-cache.max-size:50000}") long tokenCacheSize) {
+        this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.principalLoads = new SingleFlight<>("introspection_principals", meterRegistry);
+    }
+
+    /**
+     * @return one result per token, in the same order
+     */
+    public List<TokenIntrospectionDTO> introspect(List<String> tokens) {
+        List<Claims> verified = new ArrayList<>(tokens.size());
+        Set<Long> missing = new HashSet<>();
+        for (String token : tokens) {
+            Claims claims = verify(token);
+            verified.add(claims);
+            if (claims != null) {
+                Long userId = claims.get("userId", Long.class);
+                if (userId != null && principals.getIfPresent(userId) == null) {
+                    missing.add(userId);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            principalLoads.executeAll(missing, this::load);
+        }
+
+        List<TokenIntrospectionDTO> results = new ArrayList<>(tokens.size());
+        for (Claims claims : verified) {
+            results.add(claims == null ? TokenIntrospectionDTO.inactive() : describe(claims));
+        }
+        return results;
+    }
+
+    /**
+     * Loads accounts into the cache ahead of their first introspection, e.g. during warm-up
+     * @return number of accounts loaded
+     */
+    public int preload(Collection<Long> userIds) {
+        return userIds.isEmpty() ? 0 : load(userIds).size();
+    }
+
+    /**
+     * Drops a cached account after it changed. Inside a transaction this happens once it commits,
+     * so a concurrent introspection cannot cache the old row again in between.
+     */
+    public void evict(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(userId);
+                }
+            });
+        } else {
+            principals.invalidate(userId);
+        }
+    }
+
+    private Map<Long, Principal> load(Collection<Long> userIds) {
+        Map<Long, Principal> loaded = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            Principal principal = new Principal(user.getEmail(), user.getName(), Boolean.TRUE.equals(user.getActive()));
+            principals.put(user.getId(), principal);
+            loaded.put(user.getId(), principal);
+        }
+        return loaded;
+    }
+
+    private Claims verify(String token) {
+        if (token == null || token.isBlank()) {
+            count("invalid");
+            return null;
+        }
+        try {
+            Claims claims = verifiedTokens.getIfPresent(token);
+            if (claims == null || claims.getExpiration().getTime() <= System.currentTimeMillis()) {
+                claims = jwtUtil.extractAllClaims(token);
+                verifiedTokens.put(token, claims);
+            }
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                count("revoked");
+                return null;
+            }
+            return claims;
+        } catch (InvalidTokenException e) {
+            count("invalid");
+            return null;
+        }
+    }
+
+    private TokenIntrospectionDTO describe(Claims claims) {
+        Long userId = claims.get("userId", Long.class);
+        Principal principal = userId == null ? null : principals.getIfPresent(userId);
+        // The account must still exist, be active and still own the email the token was issued for
+        if (principal == null || !principal.active() || !principal.email().equals(claims.getSubject())) {
+            count("unknown_user");
+            return TokenIntrospectionDTO.inactive();
+        }
+        count("active");
+        return new TokenIntrospectionDTO(true, claims.getSubject(), userId, principal.name(),
+                claims.getExpiration().getTime() / 1000, claims.getId());
+    }
+
+    private void count(String result) {
+        meterRegistry.counter(INTROSPECTION_METRIC, "result", result).increment();
+    }
+
+    private record Principal(String email, String name, boolean active) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.monty.backend.Service;
+
+import com.monty.backend.Exception.RevocationUnavailableException;
+import com.monty.backend.Util.BloomFilter;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revocation list for JWTs, keyed by the jti claim.
+ *
+ * Redis is the source of truth: one key per revoked token, expiring together with the token,
+ * plus a sorted-set index used to rebuild local state. Every instance mirrors the list into a
+ * local Bloom filter, kept current through Redis pub/sub, so the request path only goes to
+ * Redis for the rare token that the filter cannot rule out.
+ */
+@Service
+public class TokenRevocationService implements MessageListener {
+
+    public static final String REVOCATION_CHANNEL = "jwt-revocations";
+    private static final String REVOKED_PREFIX = "revoked-jwt:";
+    private static final String REVOKED_INDEX = "revoked-jwt-index";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CircuitBreaker circuitBreaker;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private volatile BloomFilter revokedFilter;
+    private volatile BloomFilter pendingFilter;
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    public TokenRevocationService(RedisTemplate<String, Object> redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  CircuitBreakerRegistry circuitBreakerRegistry,
+                                  @Value("${jwt.revocation.expected-revocations:100000}") int expectedRevocations,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(OtpCacheService.CIRCUIT_BREAKER);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revokedFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+    }
+
+    /**
+     * Revokes a token until its own expiry and tells every instance about it. The local filter is
+     * updated first, so this instance rejects the token even if Redis cannot be reached.
+     * @throws RevocationUnavailableException if Redis is unavailable and other instances may still accept the token
+     */
+    public void revoke(String tokenId, Date expiresAt) {
+        long ttlMillis = expiresAt.getTime() - System.currentTimeMillis();
+        if (tokenId == null || ttlMillis <= 0) {
+            return;
+        }
+
+        addLocally(tokenId);
+        try {
+            circuitBreaker.executeRunnable(() -> {
+                redisTemplate.opsForValue().set(REVOKED_PREFIX + tokenId, Boolean.TRUE, ttlMillis, TimeUnit.MILLISECONDS);
+                redisTemplate.opsForZSet().add(REVOKED_INDEX, tokenId, expiresAt.getTime());
+                redisTemplate.convertAndSend(REVOCATION_CHANNEL, tokenId);
+            });
+        } catch (Exception e) {
+            log.warn("Token {} only revoked locally, circuit breaker is {}: {}", tokenId, circuitBreaker.getState(), e.getMessage());
+            throw new RevocationUnavailableException("Logout could not be completed. Please try again.");
+        }
+
+        log.info("Token {} revoked until {}", tokenId, expiresAt);
+    }
+
+    /**
+     * O(1) in-memory check; Redis is only consulted when the Bloom filter reports a possible match.
+     * If Redis cannot confirm a possible match the token is treated as revoked.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !revokedFilter.mightContain(tokenId)) {
+            return false;
+        }
+
+        try {
+            return Boolean.TRUE.equals(circuitBreaker.executeSupplier(() -> redisTemplate.hasKey(REVOKED_PREFIX + tokenId)));
+        } catch (Exception e) {
+            log.warn("Could not confirm revocation of token {}, rejecting it: {}", tokenId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Receives revocations published by other instances
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object tokenId = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (tokenId != null) {
+            addLocally(tokenId.toString());
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the Redis index. Loads revocations made before this instance
+     * started or while it was disconnected, and drops expired entries so the filter stays small.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.revocation.rebuild-interval:PT5M}")
+    public void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+        // Revocations published while the index is being read go into both filters
+        pendingFilter = rebuilt;
+        try {
+            long now = System.currentTimeMillis();
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_INDEX, 0, now);
+            Set<Object> activeRevocations = redisTemplate.opsForZSet().rangeByScore(REVOKED_INDEX, now, Double.POSITIVE_INFINITY);
+            if (activeRevocations != null) {
+                activeRevocations.forEach(tokenId -> rebuilt.add(tokenId.toString()));
+                log.debug("Revocation filter rebuilt with {} tokens", activeRevocations.size());
+            }
+            revokedFilter = rebuilt;
+        } catch (Exception e) {
+            log.warn("Could not rebuild revocation filter, keeping the current one: {}", e.getMessage());
+        } finally {
+            pendingFilter = null;
+        }
+    }
+
+    private void addLocally(String tokenId) {
+        // Read the pending filter first: once it is cleared, revokedFilter already points at the rebuilt one
+        BloomFilter pending = pendingFilter;
+        if (pending != null) {
+            pending.add(tokenId);
+        }
+        revokedFilter.add(tokenId);
+    }
+}
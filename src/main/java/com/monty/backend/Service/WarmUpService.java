@@ -0,0 +1,211 @@
+package com.monty.backend.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monty.backend.DTO.AuthResponse;
+import com.monty.backend.DTO.OtpEvent;
+import com.monty.backend.Repository.IRefreshTokenRepository;
+import com.monty.backend.Util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the instance up before it takes traffic: opens pooled connections to PostgreSQL, Redis
+ * and RabbitMQ, runs the JWT, password hashing and JSON paths until the JIT has compiled them,
+ * and optionally preloads recently active accounts into the introspection cache.
+ *
+ * Runs as an ApplicationRunner, and Spring Boot only switches the readiness state to
+ * ACCEPTING_TRAFFIC once all runners have finished, so /actuator/health/readiness stays DOWN
+ * until the warm-up is done. A failing step is logged and skipped; it never stops the startup.
+ * Step durations are logged and recorded as app.warmup{step, outcome}.
+ */
+@Service
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpService implements ApplicationRunner {
+
+    private static final String WARMUP_METRIC = "app.warmup";
+    private static final String WARMUP_EMAIL = "warmup@monty.invalid";
+
+    private final DataSource dataSource;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final ConnectionFactory rabbitConnectionFactory;
+    private final JwtUtil jwtUtil;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final IRefreshTokenRepository refreshTokenRepository;
+    private final MeterRegistry meterRegistry;
+    private final int databaseConnections;
+    private final int redisConnections;
+    private final int iterations;
+    private final int passwordIterations;
+    private final int preloadUsers;
+    private static final Logger log = LoggerFactory.getLogger(WarmUpService.class);
+
+    @Autowired
+    public WarmUpService(DataSource dataSource, RedisConnectionFactory redisConnectionFactory,
+                         ConnectionFactory rabbitConnectionFactory, JwtUtil jwtUtil, PasswordEncoder passwordEncoder,
+                         ObjectMapper objectMapper, TokenIntrospectionService tokenIntrospectionService,
+                         IRefreshTokenRepository refreshTokenRepository, MeterRegistry meterRegistry,
+                         @Value("${warmup.database-connections:4}") int databaseConnections,
+                         @Value("${warmup.redis-connections:2}") int redisConnections,
+                         @Value("${warmup.iterations:500}") int iterations,
+                         @Value("${warmup.password-iterations:3}") int passwordIterations,
+                         @Value("${warmup.preload-users:0}") int preloadUsers) {
+        this.dataSource = dataSource;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.rabbitConnectionFactory = rabbitConnectionFactory;
+        this.jwtUtil = jwtUtil;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.tokenIntrospectionService = tokenIntrospectionService;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.meterRegistry = meterRegistry;
+        this.databaseConnections = databaseConnections;
+        this.redisConnections = redisConnections;
+        this.iterations = iterations;
+        this.passwordIterations = passwordIterations;
+        this.preloadUsers = preloadUsers;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * @return duration of each step in milliseconds, in execution order
+     */
+    public Map<String, Long> warmUp() {
+        long start = System.nanoTime();
+        Map<String, Long> report = new LinkedHashMap<>();
+        step(report, "database", this::openDatabaseConnections);
+        step(report, "redis", this::openRedisConnections);
+        step(report, "rabbitmq", this::openRabbitConnection);
+        step(report, "jwt", this::exerciseJwt);
+        step(report, "password", this::exercisePasswordHashing);
+        step(report, "json", this::exerciseJson);
+        if (preloadUsers > 0) {
+            step(report, "preload_users", this::preloadUsers);
+        }
+
+        StringJoiner steps = new StringJoiner(", ");
+        report.forEach((step, millis) -> steps.add(step + "=" + millis + "ms"));
+        log.info("Warm-up finished in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), steps);
+        return report;
+    }
+
+    private void step(Map<String, Long> report, String name, Step step) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            step.run();
+        } catch (Exception e) {
+            outcome = "error";
+            log.warn("Warm-up step {} failed, continuing: {}", name, e.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder(WARMUP_METRIC)
+                .tag("step", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        report.put(name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    // Connections are held together so the pool really opens that many, then returned to it
+    private void openDatabaseConnections() throws SQLException {
+        List<java.sql.Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < databaseConnections; i++) {
+                java.sql.Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (java.sql.Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    // Pipelines run on dedicated pooled connections, plain commands on the shared one
+    private void openRedisConnections() {
+        List<RedisConnection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < redisConnections; i++) {
+                RedisConnection connection = redisConnectionFactory.getConnection();
+                connections.add(connection);
+                connection.ping();
+                connection.openPipeline();
+                connection.ping();
+                connection.closePipeline();
+            }
+        } finally {
+            connections.forEach(RedisConnection::close);
+        }
+    }
+
+    // The caching connection factory keeps the connection open after close()
+    private void openRabbitConnection() throws Exception {
+        try (Connection connection = rabbitConnectionFactory.createConnection()) {
+            connection.createChannel(false).close();
+        }
+    }
+
+    private void exerciseJwt() {
+        for (int i = 0; i < iterations; i++) {
+            jwtUtil.extractAllClaims(jwtUtil.generateToken(WARMUP_EMAIL, 0L));
+        }
+    }
+
+    private void exercisePasswordHashing() {
+        for (int i = 0; i < passwordIterations; i++) {
+            String hash = passwordEncoder.encode("warmup-password-" + i);
+            passwordEncoder.matches("warmup-password-" + i, hash);
+        }
+    }
+
+    private void exerciseJson() throws Exception {
+        OtpEvent event = new OtpEvent(WARMUP_EMAIL, "000000", "Warm-up");
+        AuthResponse response = new AuthResponse("Warm-up");
+        for (int i = 0; i < iterations; i++) {
+            objectMapper.readValue(objectMapper.writeValueAsBytes(event), OtpEvent.class);
+            objectMapper.writeValueAsBytes(response);
+        }
+    }
+
+    private void preloadUsers() {
+        List<Long> userIds = refreshTokenRepository.findRecentlyActiveUserIds(LocalDateTime.now(), Limit.of(preloadUsers));
+        int loaded = tokenIntrospectionService.preload(userIds);
+        log.debug("Preloaded {} recently active accounts", loaded);
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+}
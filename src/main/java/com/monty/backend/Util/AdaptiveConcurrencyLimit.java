@@ -0,0 +1,95 @@
+package com.monty.backend.Util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to latency, after the gradient algorithm of Netflix
+ * concurrency-limits (Gradient2).
+ *
+ * A long-term average of request latency is compared with each new sample. While latency stays
+ * near the average the limit grows by about sqrt(limit) per sample; when latency rises the limit
+ * shrinks in proportion, down to half per sample. Requests that fail with a server error count
+ * as drops and cut the limit by 10%. The limit is not raised while less than half of it is in use,
+ * so an idle endpoint does not drift to the maximum.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+    private double longRttNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * @return false if the limit is reached; otherwise the caller must call {@link #release} once done
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Ends an acquired request and feeds its latency into the limit
+     * @param inflightAtStart inflight count right after this request was admitted
+     * @param dropped true if the request failed in a way that indicates overload
+     */
+    public void release(long rttNanos, int inflightAtStart, boolean dropped) {
+        inflight.decrementAndGet();
+        update(rttNanos, inflightAtStart, dropped);
+    }
+
+    private synchronized void update(long rttNanos, int inflightAtStart, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = clamp(current * DROP_BACKOFF);
+            return;
+        }
+
+        // Exponential average over roughly the last LONG_WINDOW samples, plain mean until then
+        samples++;
+        double weight = samples < LONG_WINDOW ? 1.0 / samples : 2.0 / (LONG_WINDOW + 1);
+        longRttNanos += (rttNanos - longRttNanos) * weight;
+        // After a latency spike has passed let the average catch up quickly
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        if (inflightAtStart < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        double target = current * gradient + Math.sqrt(current);
+        limit = clamp(current * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,25 @@
+package com.monty.backend.Util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one register/verify/login/refresh/logout call, duration is the whole call
+ */
+@Name("com.monty.auth.Operation")
+@Label("Auth Operation")
+@Category({"Monty", "Auth"})
+@Description("An AuthService operation and its outcome")
+@StackTrace(false)
+public class AuthOperationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    public String outcome;
+}
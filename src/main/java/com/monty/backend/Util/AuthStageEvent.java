@@ -0,0 +1,25 @@
+package com.monty.backend.Util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one step of an auth operation (BCrypt, an insert, a Redis call, ...)
+ */
+@Name("com.monty.auth.Stage")
+@Label("Auth Stage")
+@Category({"Monty", "Auth"})
+@Description("A single step inside an AuthService operation")
+@StackTrace(false)
+public class AuthStageEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Stage")
+    public String stage;
+}
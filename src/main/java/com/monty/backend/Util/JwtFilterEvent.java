@@ -0,0 +1,22 @@
+package com.monty.backend.Util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the token check in JwtAuthenticationFilter, not including the rest of the request
+ */
+@Name("com.monty.auth.JwtFilter")
+@Label("JWT Filter")
+@Category({"Monty", "Auth"})
+@Description("Bearer token parsing and revocation check")
+@StackTrace(false)
+public class JwtFilterEvent extends Event {
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,233 @@
+package com.monty.backend.Util;
+
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Asymmetric JWT keys, addressed by kid.
+ *
+ * Keys are PEM files in jwt.keys.directory, named {kid}.pem. A file with a PRIVATE KEY and a
+ * PUBLIC KEY block can sign; a file with only the PUBLIC KEY still verifies, which is how a key is
+ * retired. Ed25519 (EdDSA) and P-256 (ES256) keys are supported:
+ * <pre>
+ *   openssl genpkey -algorithm ed25519 -out 2026-10.pem &amp;&amp; openssl pkey -in 2026-10.pem -pubout &gt;&gt; 2026-10.pem
+ * </pre>
+ * The directory is re-read periodically, so keys rotate without a restart. A new key is published
+ * in the JWKS right away but only signs once its file is older than jwt.keys.activation-delay, so
+ * services caching the JWKS know it before the first token arrives. Among eligible keys the
+ * highest kid signs; while none is eligible the current key goes on signing.
+ *
+ * Without a directory an ephemeral Ed25519 key is generated, which only suits a single instance.
+ */
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final Pattern PEM_BLOCK = Pattern.compile("-----BEGIN (PRIVATE|PUBLIC) KEY-----([A-Za-z0-9+/=\\s]+)-----END \\1 KEY-----");
+    private static final List<String> KEY_ALGORITHMS = List.of("Ed25519", "EC");
+
+    private final Path directory;
+    private final Duration activationDelay;
+    private volatile State state;
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    @Autowired
+    public JwtKeyRing(@Value("${jwt.keys.directory:}") String directory,
+                      @Value("${jwt.keys.activation-delay:PT5M}") Duration activationDelay) {
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.activationDelay = activationDelay;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (directory == null) {
+            state = ephemeral();
+            log.warn("jwt.keys.directory is not set, signing with ephemeral key {}; tokens will not survive a restart", state.signingKid);
+            return;
+        }
+        state = read(Instant.now(), null);
+        log.info("Loaded JWT keys {}, signing with {}", state.publicKeys.keySet(), state.signingKid);
+    }
+
+    /**
+     * Picks up added, retired and removed key files. A directory that cannot be read keeps the current keys.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval:PT1M}", initialDelayString = "${jwt.keys.reload-interval:PT1M}")
+    public void reload() {
+        if (directory == null) {
+            return;
+        }
+        try {
+            State reloaded = read(Instant.now(), signingKey());
+            if (!reloaded.publicKeys.keySet().equals(state.publicKeys.keySet()) || !reloaded.signingKid.equals(state.signingKid)) {
+                log.info("JWT keys changed to {}, signing with {}", reloaded.publicKeys.keySet(), reloaded.signingKid);
+            }
+            state = reloaded;
+        } catch (RuntimeException e) {
+            log.warn("Could not reload JWT keys, keeping the current ones: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Current signing key with its kid, read together so a concurrent rotation cannot mix them
+     */
+    public SigningKey signingKey() {
+        State current = state;
+        return new SigningKey(current.signingKid, current.signingKey);
+    }
+
+    /**
+     * Public keys of the ring as a JWK Set document, built once per key change
+     */
+    public String jwksJson() {
+        return state.jwksJson;
+    }
+
+    /**
+     * Verification key lookup for the JWT parser, a map read per token
+     */
+    @Override
+    protected Key locate(ProtectedHeader header) {
+        String kid = header.getKeyId();
+        PublicKey key = kid == null ? null : state.publicKeys.get(kid);
+        if (key == null) {
+            throw new InvalidKeyException("Unknown JWT key id: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * @param current the key signing so far, null on the first load
+     */
+    private State read(Instant now, SigningKey current) {
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        List<SigningCandidate> candidates = new ArrayList<>();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(".pem"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot list " + directory, e);
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            String kid = name.substring(0, name.length() - ".pem".length());
+            try {
+                Map<String, byte[]> blocks = pemBlocks(Files.readString(file));
+                if (!blocks.containsKey("PUBLIC")) {
+                    log.warn("Skipping JWT key {}: no PUBLIC KEY block", file);
+                    continue;
+                }
+                publicKeys.put(kid, (PublicKey) decode(blocks.get("PUBLIC"), true));
+                if (blocks.containsKey("PRIVATE")) {
+                    Instant modified = Files.getLastModifiedTime(file).toInstant();
+                    candidates.add(new SigningCandidate(kid, (PrivateKey) decode(blocks.get("PRIVATE"), false),
+                            !modified.plus(activationDelay).isAfter(now)));
+                }
+            } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping JWT key {}: {}", file, e.getMessage());
+            }
+        }
+
+        // Highest eligible kid signs. When nothing is eligible, e.g. every file was just rewritten by a
+        // Secret update or a copy, the current key keeps signing while its file still has the private key.
+        // Only a fresh ring falls back to the highest kid; on reload the current keys are kept instead.
+        SigningCandidate signer = candidates.stream().filter(SigningCandidate::eligible)
+                .max(Comparator.comparing(SigningCandidate::kid))
+                .or(() -> current == null ? Optional.empty()
+                        : candidates.stream().filter(candidate -> candidate.kid().equals(current.kid())).findFirst())
+                .or(() -> current == null ? candidates.stream().max(Comparator.comparing(SigningCandidate::kid)) : Optional.empty())
+                .orElseThrow(() -> new IllegalStateException("No JWT signing key in " + directory
+                        + (current == null ? "" : " that is past its activation delay")));
+        return new State(signer.kid(), signer.key(), Map.copyOf(publicKeys), jwks(publicKeys));
+    }
+
+    private static State ephemeral() {
+        try {
+            KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+            String kid = "ephemeral-" + UUID.randomUUID();
+            Map<String, PublicKey> publicKeys = Map.of(kid, keyPair.getPublic());
+            return new State(kid, keyPair.getPrivate(), publicKeys, jwks(publicKeys));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Ed25519 not available", e);
+        }
+    }
+
+    private static String jwks(Map<String, PublicKey> publicKeys) {
+        return publicKeys.entrySet().stream()
+                .map(entry -> {
+                    PublicJwk<?> jwk = Jwks.builder().key(entry.getValue()).id(entry.getKey()).publicKeyUse("sig").build();
+                    return Jwks.json(jwk);
+                })
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    private static Map<String, byte[]> pemBlocks(String pem) {
+        Map<String, byte[]> blocks = new LinkedHashMap<>();
+        Matcher matcher = PEM_BLOCK.matcher(pem);
+        while (matcher.find()) {
+            blocks.put(matcher.group(1), Base64.getMimeDecoder().decode(matcher.group(2)));
+        }
+        return blocks;
+    }
+
+    private static Key decode(byte[] der, boolean isPublic) throws GeneralSecurityException {
+        GeneralSecurityException failure = null;
+        for (String algorithm : KEY_ALGORITHMS) {
+            try {
+                KeyFactory factory = KeyFactory.getInstance(algorithm);
+                return isPublic ? factory.generatePublic(new X509EncodedKeySpec(der)) : factory.generatePrivate(new PKCS8EncodedKeySpec(der));
+            } catch (GeneralSecurityException e) {
+                failure = e;
+            }
+        }
+        throw new GeneralSecurityException("Unsupported key, expected Ed25519 or EC P-256", failure);
+    }
+
+    public record SigningKey(String kid, PrivateKey key) {
+    }
+
+    private record SigningCandidate(String kid, PrivateKey key, boolean eligible) {
+    }
+
+    private record State(String signingKid, PrivateKey signingKey, Map<String, PublicKey> publicKeys, String jwksJson) {
+    }
+}
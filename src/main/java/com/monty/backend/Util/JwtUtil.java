@@ -1,33 +1,43 @@
 package com.monty.backend.Util;
 
+import com.monty.backend.Exception.InvalidTokenException;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
+/**
+ * Issues and verifies access tokens. Tokens are signed with the key ring's current private key
+ * and carry its kid, so any service holding the published JWKS can verify them locally.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtKeyRing keyRing;
+    private final long expiration;
+    // Thread-safe, built once; the key ring resolves the verification key per token from its kid
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration}") // 24 hours
-    private Long expiration;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Autowired
+    public JwtUtil(JwtKeyRing keyRing, @Value("${jwt.expiration}") long expiration) { // 15 minutes
+        this.keyRing = keyRing;
+        this.expiration = expiration;
+        this.parser = Jwts.parser().keyLocator(keyRing).build();
     }
 
     public String generateToken(String email, Long userId) {
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .claim("userId", userId)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey.key())
                 .compact();
     }
 
@@ -39,6 +49,10 @@ public class JwtUtil {
         return extractClaim(token, claims -> claims.get("userId", Long.class));
     }
 
+    public String extractTokenId(String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
     public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
@@ -48,15 +62,11 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    public Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (JwtException e) {
-            throw new RuntimeException("Invalid JWT token", e);
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid JWT token");
         }
     }
 
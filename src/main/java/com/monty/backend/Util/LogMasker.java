@@ -0,0 +1,31 @@
+package com.monty.backend.Util;
+
+import com.monty.backend.Model.Otp;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Masks personal data in formatted log output: emails keep their first character and domain
+ * (j***@example.com) and digit codes following "otp" or "code" are replaced entirely.
+ */
+public final class LogMasker {
+
+    private static final Pattern EMAIL = Pattern.compile("([A-Za-z0-9._%+-])[A-Za-z0-9._%+-]*@([A-Za-z0-9-]+(?:\\.[A-Za-z0-9-]+)+)");
+    private static final Pattern OTP = Pattern.compile("(?i)((?:otp|code)[^0-9\\n]{0,24})\\d{4," + Otp.MAX_CODE_LENGTH + "}\\b");
+
+    private LogMasker() {
+    }
+
+    public static String mask(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        String masked = value;
+        if (masked.indexOf('@') >= 0) {
+            masked = EMAIL.matcher(masked).replaceAll("$1***@$2");
+        }
+        Matcher otp = OTP.matcher(masked);
+        return otp.find() ? otp.replaceAll("$1******") : masked;
+    }
+}
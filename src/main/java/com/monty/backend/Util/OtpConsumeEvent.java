@@ -0,0 +1,27 @@
+package com.monty.backend.Util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one consumed OTP message, duration is the time spent in the listener
+ */
+@Name("com.monty.otp.Consume")
+@Label("OTP Consume")
+@Category({"Monty", "OTP"})
+@Description("Processing of one OTP message from RabbitMQ")
+@StackTrace(false)
+public class OtpConsumeEvent extends Event {
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.MILLISECONDS)
+    public long queueWait;
+}
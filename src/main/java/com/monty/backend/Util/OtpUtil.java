@@ -1,28 +1,163 @@
 package com.monty.backend.Util;
 
+import com.monty.backend.Model.Otp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DrbgParameters;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.time.Duration;
 
+/**
+ * Creates OTP codes in one of two modes, chosen with otp.mode:
+ * <ul>
+ *     <li>stored (default): random codes that the caller has to keep until verification</li>
+ *     <li>derived: codes computed as an HMAC over (secret, subject, time window), in the style of
+ *     RFC 6238, so verification just recomputes them and nothing is stored at registration</li>
+ * </ul>
+ * Length and alphabet are configurable with otp.length and otp.alphabet (decimal digits by default);
+ * stored codes have to fit the otp.code column.
+ */
 @Component
 public class OtpUtil {
 
-    private static final String NUMBERS = "0123456789";
-    private static final int OTP_LENGTH = 6;
-    private final SecureRandom random = new SecureRandom();
+    public static final String MODE_STORED = "stored";
+    public static final String MODE_DERIVED = "derived";
+
+    // Random bytes fetched from the DRBG per call, enough for dozens of codes
+    private static final int ENTROPY_BLOCK_SIZE = 256;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    // Windows accepted on either side of the current one, covers codes issued just before a boundary and clock skew
+    private static final int WINDOW_TOLERANCE = 1;
+    // HMAC-SHA256 keys shorter than the hash output weaken it
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final char[] alphabet;
+    private final int length;
+    // Random bytes at or above this value are rejected, so every symbol is equally likely
+    private final int rejectionLimit;
+    private final long derivedModulus;
+    private final ThreadLocal<Generator> generator = ThreadLocal.withInitial(this::newGenerator);
+    private final boolean derivedMode;
+    private final long stepMillis;
+    private final ThreadLocal<Mac> mac;
+
+    @Autowired
+    public OtpUtil(@Value("${otp.mode:stored}") String mode,
+                   @Value("${otp.derived.secret:}") String secret,
+                   @Value("${otp.derived.step:PT5M}") Duration step,
+                   @Value("${otp.length:6}") int length,
+                   @Value("${otp.alphabet:0123456789}") String alphabet) {
+        if (length < 4 || alphabet.length() < 2 || alphabet.length() > 256
+                || alphabet.chars().distinct().count() != alphabet.length()) {
+            throw new IllegalArgumentException("otp.length must be at least 4 and otp.alphabet 2 to 256 distinct characters");
+        }
+        this.alphabet = alphabet.toCharArray();
+        this.length = length;
+        this.rejectionLimit = 256 - 256 % alphabet.length();
+        this.derivedModulus = modulus(alphabet.length(), length);
+        this.derivedMode = MODE_DERIVED.equalsIgnoreCase(mode);
+        if (!derivedMode && !MODE_STORED.equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("Unknown otp.mode: " + mode);
+        }
+        if (!derivedMode && length > Otp.MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("otp.length must be at most " + Otp.MAX_CODE_LENGTH + " in stored mode, the otp.code column width");
+        }
+        if (derivedMode && (secret.isBlank() || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES)) {
+            throw new IllegalArgumentException("otp.derived.secret (OTP_DERIVED_SECRET) must be set to at least "
+                    + MIN_SECRET_BYTES + " bytes when otp.mode=derived");
+        }
+        if (derivedMode && derivedModulus < 0) {
+            throw new IllegalArgumentException("otp.alphabet and otp.length allow more codes than a derived OTP can encode (2^31)");
+        }
+        this.stepMillis = step.toMillis();
+        SecretKeySpec key = secret.isBlank() ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> newMac(key));
+    }
 
     /**
-     * Generates a 6-digit OTP
+     * Generates a random OTP from the thread's own DRBG, so concurrent registrations never
+     * contend on a shared SecureRandom
      * @return String representing the OTP
      */
     public String generateOtp() {
-        StringBuilder otp = new StringBuilder();
+        Generator current = generator.get();
+        char[] code = current.code;
+        for (int i = 0; i < length; i++) {
+            int value;
+            do {
+                value = current.nextByte();
+            } while (value >= rejectionLimit);
+            code[i] = alphabet[value % alphabet.length];
+        }
+        return new String(code);
+    }
+
+    public boolean isDerivedMode() {
+        return derivedMode;
+    }
+
+    /**
+     * Derives the OTP for a subject (user id and email) in the current time window
+     */
+    public String deriveOtp(String subject) {
+        return deriveOtp(subject, window(System.currentTimeMillis()));
+    }
+
+    /**
+     * Recomputes the codes for the windows around now and compares them in constant time
+     * @return true if the code was derived for this subject in an accepted window
+     */
+    public boolean matchesDerivedOtp(String subject, String otp) {
+        if (!isValidOtpFormat(otp)) {
+            return false;
+        }
+        long current = window(System.currentTimeMillis());
+        byte[] submitted = otp.getBytes(StandardCharsets.US_ASCII);
+        boolean matched = false;
+        for (long window = current - WINDOW_TOLERANCE; window <= current + WINDOW_TOLERANCE; window++) {
+            matched |= MessageDigest.isEqual(submitted, deriveOtp(subject, window).getBytes(StandardCharsets.US_ASCII));
+        }
+        return matched;
+    }
+
+    /**
+     * How long a derived code can be accepted, replay markers have to live at least this long
+     */
+    public Duration derivedOtpLifetime() {
+        return Duration.ofMillis(stepMillis * (2L * WINDOW_TOLERANCE + 1));
+    }
 
-        for (int i = 0; i < OTP_LENGTH; i++) {
-            otp.append(NUMBERS.charAt(random.nextInt(NUMBERS.length())));
+    String deriveOtp(String subject, long window) {
+        Mac hmac = mac.get();
+        hmac.update(ByteBuffer.allocate(Long.BYTES).putLong(window).array());
+        byte[] hash = hmac.doFinal(subject.getBytes(StandardCharsets.UTF_8));
+
+        // Dynamic truncation as in RFC 4226
+        int offset = hash[hash.length - 1] & 0x0f;
+        int binary = ((hash[offset] & 0x7f) << 24)
+                | ((hash[offset + 1] & 0xff) << 16)
+                | ((hash[offset + 2] & 0xff) << 8)
+                | (hash[offset + 3] & 0xff);
+        long value = binary % derivedModulus;
+        char[] code = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            code[i] = alphabet[(int) (value % alphabet.length)];
+            value /= alphabet.length;
         }
+        return new String(code);
+    }
 
-        return otp.toString();
+    long window(long epochMillis) {
+        return epochMillis / stepMillis;
     }
 
     /**
@@ -31,10 +166,82 @@ public class OtpUtil {
      * @return true if valid, false otherwise
      */
     public boolean isValidOtpFormat(String otp) {
-        if (otp == null || otp.length() != OTP_LENGTH) {
+        if (otp == null || otp.length() != length) {
             return false;
         }
 
-        return otp.matches("\\d{6}");
+        for (int i = 0; i < otp.length(); i++) {
+            if (indexOf(otp.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(char symbol) {
+        for (int i = 0; i < alphabet.length; i++) {
+            if (alphabet[i] == symbol) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // alphabet^length, or -1 if it does not fit the 31 bits a truncated HMAC provides
+    private static long modulus(int base, int length) {
+        long modulus = 1;
+        for (int i = 0; i < length; i++) {
+            modulus *= base;
+            if (modulus > Integer.MAX_VALUE + 1L) {
+                return -1;
+            }
+        }
+        return modulus;
+    }
+
+    private Generator newGenerator() {
+        SecureRandom random;
+        try {
+            random = SecureRandom.getInstance("DRBG", DrbgParameters.instantiation(256, DrbgParameters.Capability.NONE, null));
+        } catch (NoSuchAlgorithmException e) {
+            random = new SecureRandom();
+        }
+        return new Generator(random, length);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        if (key == null) {
+            throw new IllegalStateException("otp.derived.secret is not configured");
+        }
+        try {
+            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            hmac.init(key);
+            return hmac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    /**
+     * Per-thread random source: a block of DRBG output consumed byte by byte, plus the buffer codes are built in
+     */
+    private static final class Generator {
+        private final SecureRandom random;
+        private final byte[] block = new byte[ENTROPY_BLOCK_SIZE];
+        private final char[] code;
+        private int position = ENTROPY_BLOCK_SIZE;
+
+        private Generator(SecureRandom random, int length) {
+            this.random = random;
+            this.code = new char[length];
+        }
+
+        private int nextByte() {
+            if (position == block.length) {
+                random.nextBytes(block);
+                position = 0;
+            }
+            return block[position++] & 0xff;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package com.monty.backend.Util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the query, callers that
+ * arrive while it is in flight wait for it and get the same result or exception. Nothing is
+ * cached; once the query finishes the next call runs a new one.
+ *
+ * Keys must be immutable. {@link #executeAll} coalesces per key: a batch loads only the keys no
+ * other caller is loading and waits for the rest.
+ *
+ * Results are shared between threads, so they should be immutable or at least not modified by
+ * callers. A loader must not call {@link #execute} for its own key.
+ *
+ * Counts keys as singleflight.calls{name, role=leader|follower}; the follower share is the
+ * coalescing ratio.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("role", "follower")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Batch variant of {@link #execute}: the loader gets the keys this call leads, as an immutable
+     * set, and returns the values it found. Keys missing from its result have no value.
+     * @return the values found for the given keys
+     */
+    public Map<K, V> executeAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> led = new HashMap<>();
+        Map<K, CompletableFuture<V>> followed = new HashMap<>();
+        for (K key : keys) {
+            if (led.containsKey(key) || followed.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> call = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+            if (existing != null) {
+                followed.put(key, existing);
+            } else {
+                led.put(key, call);
+            }
+        }
+
+        Map<K, V> values = new HashMap<>();
+        // Load before waiting, so two batches following each other's keys cannot deadlock
+        if (!led.isEmpty()) {
+            leaders.increment(led.size());
+            try {
+                Map<K, V> loaded = loader.apply(Set.copyOf(led.keySet()));
+                led.forEach((key, call) -> {
+                    V value = loaded.get(key);
+                    call.complete(value);
+                    if (value != null) {
+                        values.put(key, value);
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                led.values().forEach(call -> call.completeExceptionally(e));
+                throw e;
+            } finally {
+                led.forEach(inFlight::remove);
+            }
+        }
+
+        followers.increment(followed.size());
+        followed.forEach((key, call) -> {
+            V value = await(call);
+            if (value != null) {
+                values.put(key, value);
+            }
+        });
+        return values;
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Rethrow the leader's exception as is, so callers handle it like their own
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
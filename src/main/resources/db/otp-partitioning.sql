@@ -0,0 +1,59 @@
+-- Converts otp into a table range-partitioned by day on expiration_time, while the application keeps running.
+--
+--   psql -v ON_ERROR_STOP=1 -d monty -f otp-partitioning.sql
+--
+-- Run schema-upgrade.sql first, the copies below expect otp to match the entity.
+--
+-- Steps 1 and 2 take no lock on otp. Step 3 locks it only while the codes of the last few minutes are
+-- copied and the tables are renamed, so requests wait for well under a second; if it cannot get the lock
+-- within lock_timeout it fails without changing anything and can simply be run again.
+-- Afterwards OtpPartitionService creates upcoming partitions and drops old ones. The application runs with
+-- spring.jpa.hibernate.ddl-auto=validate; never switch to update from then on, it would try to recreate otp.
+
+-- 1. Partitioned copy of otp, with partitions from yesterday to a week ahead. The primary key has to
+--    include the partition key; ids stay unique because they still come from a single sequence.
+BEGIN;
+CREATE SEQUENCE otp_partitioned_id_seq;
+CREATE TABLE otp_partitioned (
+    id              bigint       NOT NULL DEFAULT nextval('otp_partitioned_id_seq'),
+    user_id         bigint       NOT NULL REFERENCES users (id),
+    code            varchar(12)  NOT NULL,
+    expiration_time timestamp(6) NOT NULL,
+    verified        boolean      NOT NULL,
+    attempts        integer      NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, expiration_time)
+) PARTITION BY RANGE (expiration_time);
+ALTER SEQUENCE otp_partitioned_id_seq OWNED BY otp_partitioned.id;
+CREATE INDEX idx_otp_user_id_code ON otp_partitioned (user_id, code);
+DO $$
+BEGIN
+    FOR day IN -1..7 LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF otp_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'otp_p' || to_char(current_date + day, 'YYYYMMDD'), current_date + day, current_date + day + 1);
+    END LOOP;
+END $$;
+COMMIT;
+
+-- 2. Copy the codes that can no longer change: expired before the cutoff, so verification never updates them.
+--    Older rows are not copied, they are past retention.
+SELECT now()::timestamp - interval '10 minutes' AS cutoff \gset
+INSERT INTO otp_partitioned (id, user_id, code, expiration_time, verified, attempts)
+SELECT id, user_id, code, expiration_time, verified, attempts
+FROM otp
+WHERE expiration_time >= current_date - 1 AND expiration_time < :'cutoff';
+
+-- 3. Copy the rest and swap the tables
+BEGIN;
+SET LOCAL lock_timeout = '3s';
+LOCK TABLE otp IN ACCESS EXCLUSIVE MODE;
+INSERT INTO otp_partitioned (id, user_id, code, expiration_time, verified, attempts)
+SELECT id, user_id, code, expiration_time, verified, attempts
+FROM otp
+WHERE expiration_time >= :'cutoff';
+SELECT setval('otp_partitioned_id_seq', (SELECT coalesce(max(id), 0) + 1 FROM otp), false);
+ALTER TABLE otp RENAME TO otp_unpartitioned;
+ALTER TABLE otp_partitioned RENAME TO otp;
+COMMIT;
+
+-- 4. Once the application has been checked against the new table:
+-- DROP TABLE otp_unpartitioned;
@@ -0,0 +1,36 @@
+-- Brings a database created by an earlier version (spring.jpa.hibernate.ddl-auto=update) up to the entities,
+-- since Hibernate now only validates the schema. Every statement can be run again.
+--
+--   psql -v ON_ERROR_STOP=1 -d monty -f schema-upgrade.sql
+--
+-- Each statement creates a missing table, only changes the catalog or builds its index concurrently, so the
+-- application keeps running.
+
+-- otp: attempt counter used while Redis is unavailable, and room for codes up to 12 characters
+ALTER TABLE otp ADD COLUMN IF NOT EXISTS attempts integer NOT NULL DEFAULT 0;
+ALTER TABLE otp ALTER COLUMN code TYPE varchar(12);
+
+-- Refresh tokens, for databases created before they were introduced; the index names match the entity,
+-- so an existing table is left as it is
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id              bigint       GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         bigint       NOT NULL,
+    token_hash      varchar(64)  NOT NULL UNIQUE,
+    family_id       varchar(36)  NOT NULL,
+    expiration_time timestamp(6) NOT NULL,
+    used            boolean      NOT NULL,
+    revoked         boolean      NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+-- Purge of expired refresh tokens
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_expiration_time ON refresh_tokens (expiration_time);
+
+-- Login audit, written by LoginAuditService
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_login_at timestamp(6);
+CREATE TABLE IF NOT EXISTS login_history (
+    id       bigint       GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id  bigint       NOT NULL,
+    login_at timestamp(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_login_history_user_id_login_at ON login_history (user_id, login_at);
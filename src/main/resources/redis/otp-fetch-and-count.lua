@@ -0,0 +1,6 @@
+-- KEYS[1] = otp:{email}, KEYS[2] = otp:{email}:attempts (same hash slot)
+-- ARGV[1] = attempt counter TTL in milliseconds
+local otp = redis.call('GET', KEYS[1])
+local attempts = redis.call('INCR', KEYS[2])
+redis.call('PEXPIRE', KEYS[2], ARGV[1])
+return { otp, attempts }
@@ -0,0 +1,79 @@
+package com.monty.backend;
+
+import com.monty.backend.Service.OtpCacheService;
+import com.monty.backend.Service.RabbitMqService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Metrics and the other internal actuator endpoints are only served on the management port
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:actuatordb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "email.enabled=false",
+        "management.server.port=0"
+})
+@ActiveProfiles("test")
+@EnableAutoConfiguration(exclude = {
+        RedisAutoConfiguration.class,
+        RedisRepositoriesAutoConfiguration.class
+})
+class ActuatorSecurityTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @MockitoBean
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @MockitoBean
+    private OtpCacheService otpCacheService;
+
+    @MockitoBean
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @MockitoBean
+    private RabbitMqService rabbitMqService;
+
+    @Test
+    void managementPort_ServesHealthAndMetrics() {
+        // Act & Assert
+        assertEquals(HttpStatus.OK, get(managementPort, "/actuator/health/liveness"));
+        // The Prometheus registry is switched off in tests, metrics is exposed the same way
+        assertEquals(HttpStatus.OK, get(managementPort, "/actuator/metrics"));
+        assertEquals(HttpStatus.OK, get(managementPort, "/actuator/circuitbreakers"));
+    }
+
+    @Test
+    void serverPort_DoesNotServeActuator() {
+        // Act & Assert
+        assertTrue(get(serverPort, "/actuator/metrics").is4xxClientError());
+        assertTrue(get(serverPort, "/actuator/circuitbreakers").is4xxClientError());
+    }
+
+    private HttpStatus get(int port, String path) {
+        return HttpStatus.valueOf(restTemplate.getForEntity("http://localhost:" + port + path, String.class).getStatusCode().value());
+    }
+}
@@ -1,9 +1,12 @@
 package com.monty.backend;
 
 import com.monty.backend.DTO.*;
+import com.monty.backend.Exception.InvalidOtpException;
+import com.monty.backend.Exception.TooManyAttemptsException;
 import com.monty.backend.Model.*;
 import com.monty.backend.Repository.*;
 import com.monty.backend.Service.AuthService;
+import com.monty.backend.Service.OtpCacheService;
 import com.monty.backend.Service.RabbitMqService;
 import com.monty.backend.Util.*;
 
@@ -16,6 +19,7 @@ import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoCo
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
@@ -73,6 +77,12 @@ public class AuthServiceIntegrationTest {
     @MockBean
     private RedisTemplate<String, Object> redisTemplate;
 
+    @MockBean
+    private OtpCacheService otpCacheService;
+
+    @MockBean
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
     @MockBean
     private RabbitMqService rabbitMqService;
 
@@ -98,7 +108,6 @@ public class AuthServiceIntegrationTest {
     public void register_Integration_Success() {
         // Arrange
         when(otpUtil.generateOtp()).thenReturn("123456");
-        when(redisTemplate.opsForValue()).thenReturn(mock(org.springframework.data.redis.core.ValueOperations.class));
         doNothing().when(rabbitMqService).sendOtpNotification(any(OtpEvent.class));
 
         // Act
@@ -117,13 +126,15 @@ public class AuthServiceIntegrationTest {
         assertTrue(passwordEncoder.matches(registerDTO.getPassword(), savedUser.get().getPassword()));
 
         // Verify OTP was created in database
-        Optional<Otp> savedOtp = otpRepository.findByUserIdAndCodeAndVerifiedFalse(savedUser.get().getId(), "123456");
+        Optional<Otp> savedOtp = otpRepository.findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(
+                savedUser.get().getId(), "123456", LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1));
         assertTrue(savedOtp.isPresent());
         assertEquals("123456", savedOtp.get().getCode());
         assertFalse(savedOtp.get().getVerified());
         assertTrue(savedOtp.get().getExpirationTime().isAfter(LocalDateTime.now()));
 
         verify(otpUtil).generateOtp();
+        verify(otpCacheService).store(registerDTO.getEmail(), "123456", 5L);
         verify(rabbitMqService).sendOtpNotification(any(OtpEvent.class));
     }
 
@@ -164,10 +175,8 @@ public class AuthServiceIntegrationTest {
         otpRepository.save(otp);
 
         // Mock Redis operations
-        org.springframework.data.redis.core.ValueOperations<String, Object> valueOps =
-                mock(org.springframework.data.redis.core.ValueOperations.class);
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("otp:" + savedUser.getEmail())).thenReturn("123456");
+        when(otpCacheService.fetchForVerification(savedUser.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup("123456", 1)));
 
         OtpVerificationDTO verificationDTO = new OtpVerificationDTO();
         verificationDTO.setEmail(savedUser.getEmail());
@@ -190,7 +199,45 @@ public class AuthServiceIntegrationTest {
         assertTrue(updatedOtp.isPresent());
         assertTrue(updatedOtp.get().getVerified());
 
-        verify(redisTemplate).delete("otp:" + savedUser.getEmail());
+        verify(otpCacheService).evict(savedUser.getEmail());
+    }
+
+    @Test
+    public void verifyOtp_Integration_RedisUnavailable_LimitsAttempts() {
+        // Arrange
+        User user = new User();
+        user.setName("John Doe");
+        user.setEmail("john.doe@example.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setAge(25);
+        user.setActive(false);
+        User savedUser = userRepository.save(user);
+
+        Otp otp = new Otp();
+        otp.setUserId(savedUser.getId());
+        otp.setCode("123456");
+        otp.setExpirationTime(LocalDateTime.now().plusMinutes(5));
+        otp.setVerified(false);
+        otpRepository.save(otp);
+
+        when(otpCacheService.fetchForVerification(savedUser.getEmail(), 5L)).thenReturn(Optional.empty());
+
+        OtpVerificationDTO wrongCode = new OtpVerificationDTO();
+        wrongCode.setEmail(savedUser.getEmail());
+        wrongCode.setOtpCode("000000");
+        OtpVerificationDTO rightCode = new OtpVerificationDTO();
+        rightCode.setEmail(savedUser.getEmail());
+        rightCode.setOtpCode("123456");
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThrows(InvalidOtpException.class, () -> authService.verifyOtp(wrongCode));
+        }
+
+        // Assert
+        assertThrows(TooManyAttemptsException.class, () -> authService.verifyOtp(rightCode));
+        assertEquals(6, otpRepository.findById(otp.getId()).orElseThrow().getAttempts());
+        assertFalse(userRepository.findByEmail(savedUser.getEmail()).orElseThrow().getActive());
     }
 
     @Test
@@ -216,6 +263,7 @@ public class AuthServiceIntegrationTest {
         // Assert
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
+        assertNotNull(response.getRefreshToken());
         assertEquals("Login successful", response.getMessage());
         assertNotNull(response.getUser());
         assertEquals(savedUser.getEmail(), response.getUser().getEmail());
@@ -275,10 +323,8 @@ public class AuthServiceIntegrationTest {
         when(otpUtil.generateOtp()).thenReturn("123456");
         when(jwtUtil.generateToken(anyString(), any(Long.class))).thenReturn("jwt-token");
 
-        org.springframework.data.redis.core.ValueOperations<String, Object> valueOps =
-                mock(org.springframework.data.redis.core.ValueOperations.class);
-        when(redisTemplate.opsForValue()).thenReturn(valueOps);
-        when(valueOps.get("otp:" + registerDTO.getEmail())).thenReturn("123456");
+        when(otpCacheService.fetchForVerification(registerDTO.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup("123456", 1)));
 
         doNothing().when(rabbitMqService).sendOtpNotification(any(OtpEvent.class));
 
@@ -1,25 +1,37 @@
 package com.monty.backend;
 
 import com.monty.backend.DTO.*;
+import com.monty.backend.Exception.*;
 import com.monty.backend.Model.*;
 import com.monty.backend.Repository.*;
 import com.monty.backend.Service.AuthService;
+import com.monty.backend.Service.LoginAuditService;
+import com.monty.backend.Service.OtpCacheService;
+import com.monty.backend.Service.PasswordRehashService;
+import com.monty.backend.Service.RefreshTokenService;
+import com.monty.backend.Service.TokenIntrospectionService;
+import com.monty.backend.Service.TokenRevocationService;
 import com.monty.backend.Service.RabbitMqService;
 import com.monty.backend.Util.*;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,13 +56,28 @@ public class AuthServiceTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private OtpCacheService otpCacheService;
 
     @Mock
-    private ValueOperations<String, Object> valueOperations;
+    private RabbitMqService rabbitMqService;
 
     @Mock
-    private RabbitMqService rabbitMqService;
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private PasswordRehashService passwordRehashService;
+
+    @Mock
+    private LoginAuditService loginAuditService;
+
+    @Mock
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private AuthService authService;
@@ -92,7 +119,6 @@ public class AuthServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(otpUtil.generateOtp()).thenReturn("123456");
         when(otpRepository.save(any(Otp.class))).thenReturn(new Otp());
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
         // Act
         AuthResponse response = authService.register(registerDTO);
@@ -105,8 +131,12 @@ public class AuthServiceTest {
         verify(passwordEncoder).encode(registerDTO.getPassword());
         verify(userRepository).save(any(User.class));
         verify(otpRepository).save(any(Otp.class));
-        verify(valueOperations).set(eq("otp:" + registerDTO.getEmail()), eq("123456"), eq(5L), eq(TimeUnit.MINUTES)); // Fixed: use 5L instead of 5
+        verify(otpCacheService).store(registerDTO.getEmail(), "123456", 5L);
         verify(rabbitMqService).sendOtpNotification(any(OtpEvent.class));
+
+        assertEquals(1, meterRegistry.get("auth.operation").tags("operation", "register", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("auth.stage").tags("operation", "register", "stage", "hash_password").timer().count());
+        assertEquals(1, meterRegistry.get("auth.stage").tags("operation", "register", "stage", "publish_otp").timer().count());
     }
 
     @Test
@@ -115,10 +145,11 @@ public class AuthServiceTest {
         when(userRepository.existsByEmail(registerDTO.getEmail())).thenReturn(true);
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class,
                 () -> authService.register(registerDTO));
 
         assertEquals("Email already exists", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
         verify(userRepository).existsByEmail(registerDTO.getEmail());
         verify(userRepository, never()).save(any(User.class));
     }
@@ -127,8 +158,8 @@ public class AuthServiceTest {
     public void verifyOtp_Success() {
         // Arrange
         when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("otp:" + otpVerificationDTO.getEmail())).thenReturn("123456");
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup("123456", 1)));
 
         Otp otp = new Otp();
         otp.setUserId(1L);
@@ -136,7 +167,7 @@ public class AuthServiceTest {
         otp.setExpirationTime(LocalDateTime.now().plusMinutes(5));
         otp.setVerified(false);
 
-        when(otpRepository.findByUserIdAndCodeAndVerifiedFalse(user.getId(), "123456")).thenReturn(Optional.of(otp)); // Fixed: use user.getId()
+        when(otpRepository.findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(eq(user.getId()), eq("123456"), any(), any())).thenReturn(Optional.of(otp)); // Fixed: use user.getId()
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(otpRepository.save(any(Otp.class))).thenReturn(otp);
 
@@ -150,11 +181,185 @@ public class AuthServiceTest {
         assertTrue(otp.getVerified());
 
         verify(userRepository).findByEmail(otpVerificationDTO.getEmail());
-        verify(valueOperations).get("otp:" + otpVerificationDTO.getEmail());
-        verify(otpRepository).findByUserIdAndCodeAndVerifiedFalse(user.getId(), "123456");
+        verify(otpCacheService).fetchForVerification(otpVerificationDTO.getEmail(), 5L);
+        verify(otpRepository).findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(eq(user.getId()), eq("123456"), any(), any());
         verify(userRepository).save(user);
         verify(otpRepository).save(otp);
-        verify(redisTemplate).delete("otp:" + otpVerificationDTO.getEmail());
+        verify(otpRepository, never()).incrementAttempts(any(), any(), any());
+        verify(otpCacheService).evict(otpVerificationDTO.getEmail());
+        verify(tokenIntrospectionService).evict(user.getId());
+    }
+
+    @Test
+    public void verifyOtp_RedisUnavailable_FallsBackToDatabase() {
+        // Arrange
+        when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L)).thenReturn(Optional.empty());
+
+        Otp otp = new Otp();
+        otp.setUserId(1L);
+        otp.setCode("123456");
+        otp.setExpirationTime(LocalDateTime.now().plusMinutes(5));
+        otp.setVerified(false);
+
+        when(otpRepository.findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(eq(user.getId()), eq("123456"), any(), any())).thenReturn(Optional.of(otp));
+
+        // Act
+        AuthResponse response = authService.verifyOtp(otpVerificationDTO);
+
+        // Assert
+        assertEquals("OTP verified successfully. Account activated.", response.getMessage());
+        assertTrue(user.getActive());
+        assertTrue(otp.getVerified());
+    }
+
+    @Test
+    public void verifyOtp_NotCached_FallsBackToDatabase() {
+        // Arrange
+        when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup(null, 1)));
+
+        Otp otp = new Otp();
+        otp.setUserId(1L);
+        otp.setCode("123456");
+        otp.setExpirationTime(LocalDateTime.now().plusMinutes(5));
+        otp.setVerified(false);
+
+        when(otpRepository.findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(eq(user.getId()), eq("123456"), any(), any())).thenReturn(Optional.of(otp));
+
+        // Act
+        AuthResponse response = authService.verifyOtp(otpVerificationDTO);
+
+        // Assert
+        assertEquals("OTP verified successfully. Account activated.", response.getMessage());
+        assertTrue(user.getActive());
+        assertTrue(otp.getVerified());
+    }
+
+    @Test
+    public void verifyOtp_NotCached_TooManyAttempts_ThrowsException() {
+        // Arrange
+        when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup(null, 6)));
+
+        // Act & Assert
+        assertThrows(TooManyAttemptsException.class, () -> authService.verifyOtp(otpVerificationDTO));
+        verify(otpRepository, never()).findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(any(), anyString(), any(), any());
+    }
+
+    @Test
+    public void verifyOtp_RedisUnavailable_CountsAttemptInDatabase() {
+        // Arrange
+        when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L)).thenReturn(Optional.empty());
+
+        Otp otp = new Otp();
+        otp.setUserId(1L);
+        otp.setCode("123456");
+        otp.setExpirationTime(LocalDateTime.now().plusMinutes(5));
+        otp.setVerified(false);
+        ReflectionTestUtils.setField(otp, "attempts", 6);
+
+        when(otpRepository.findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(eq(user.getId()), eq("123456"), any(), any())).thenReturn(Optional.of(otp));
+
+        // Act & Assert
+        assertThrows(TooManyAttemptsException.class, () -> authService.verifyOtp(otpVerificationDTO));
+        verify(otpRepository).incrementAttempts(eq(user.getId()), any(), any());
+        assertFalse(user.getActive());
+        assertFalse(otp.getVerified());
+    }
+
+    @Test
+    public void verifyOtp_RedisUnavailable_UnknownCode_ThrowsException() {
+        // Arrange
+        when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L)).thenReturn(Optional.empty());
+        when(otpRepository.findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(eq(user.getId()), eq("123456"), any(), any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.verifyOtp(otpVerificationDTO));
+
+        assertEquals("Invalid OTP", exception.getMessage());
+    }
+
+    @Test
+    public void register_DerivedMode_StoresNoOtp() {
+        // Arrange
+        ReflectionTestUtils.setField(user, "id", 1L);
+        when(otpUtil.isDerivedMode()).thenReturn(true);
+        when(userRepository.existsByEmail(registerDTO.getEmail())).thenReturn(false);
+        when(passwordEncoder.encode(registerDTO.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(otpUtil.deriveOtp("1:john.doe@example.com")).thenReturn("654321");
+
+        // Act
+        AuthResponse response = authService.register(registerDTO);
+
+        // Assert
+        assertEquals("User registered successfully. Please verify your OTP.", response.getMessage());
+        verify(otpUtil, never()).generateOtp();
+        verify(otpRepository, never()).save(any(Otp.class));
+        verify(otpCacheService, never()).store(anyString(), anyString(), anyLong());
+        verify(rabbitMqService).sendOtpNotification(argThat(event -> "654321".equals(event.getOtpCode())));
+    }
+
+    @Test
+    public void verifyOtp_DerivedMode_Success() {
+        // Arrange
+        ReflectionTestUtils.setField(user, "id", 1L);
+        when(otpUtil.isDerivedMode()).thenReturn(true);
+        when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup(null, 1)));
+        when(otpUtil.matchesDerivedOtp("1:john.doe@example.com", "123456")).thenReturn(true);
+        when(otpUtil.derivedOtpLifetime()).thenReturn(Duration.ofMinutes(15));
+        when(otpCacheService.markUsed("john.doe@example.com", "123456", Duration.ofMinutes(15).toMillis())).thenReturn(true);
+
+        // Act
+        AuthResponse response = authService.verifyOtp(otpVerificationDTO);
+
+        // Assert
+        assertEquals("OTP verified successfully. Account activated.", response.getMessage());
+        assertTrue(user.getActive());
+        verify(userRepository).save(user);
+        verifyNoInteractions(otpRepository);
+    }
+
+    @Test
+    public void verifyOtp_DerivedMode_ReplayedCode_ThrowsException() {
+        // Arrange
+        ReflectionTestUtils.setField(user, "id", 1L);
+        when(otpUtil.isDerivedMode()).thenReturn(true);
+        when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup(null, 2)));
+        when(otpUtil.matchesDerivedOtp("1:john.doe@example.com", "123456")).thenReturn(true);
+        when(otpUtil.derivedOtpLifetime()).thenReturn(Duration.ofMinutes(15));
+        when(otpCacheService.markUsed(anyString(), anyString(), anyLong())).thenReturn(false);
+
+        // Act & Assert
+        InvalidOtpException exception = assertThrows(InvalidOtpException.class,
+                () -> authService.verifyOtp(otpVerificationDTO));
+
+        assertEquals("Invalid or expired OTP", exception.getMessage());
+        assertFalse(user.getActive());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    public void verifyOtp_DerivedMode_RedisUnavailable_ThrowsException() {
+        // Arrange
+        when(otpUtil.isDerivedMode()).thenReturn(true);
+        when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(OtpUnavailableException.class, () -> authService.verifyOtp(otpVerificationDTO));
+        verify(otpUtil, never()).matchesDerivedOtp(anyString(), anyString());
+        assertFalse(user.getActive());
     }
 
     @Test
@@ -174,8 +379,8 @@ public class AuthServiceTest {
     public void verifyOtp_InvalidOtp_ThrowsException() {
         // Arrange
         when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("otp:" + otpVerificationDTO.getEmail())).thenReturn("654321");
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup("654321", 1)));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -183,15 +388,31 @@ public class AuthServiceTest {
 
         assertEquals("Invalid or expired OTP", exception.getMessage());
         verify(userRepository).findByEmail(otpVerificationDTO.getEmail());
-        verify(valueOperations).get("otp:" + otpVerificationDTO.getEmail());
+        verify(otpCacheService).fetchForVerification(otpVerificationDTO.getEmail(), 5L);
+        assertEquals(1, meterRegistry.get("auth.operation").tags("operation", "verify", "outcome", "invalid_otp").timer().count());
+    }
+
+    @Test
+    public void verifyOtp_TooManyAttempts_ThrowsException() {
+        // Arrange
+        when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup("123456", 6)));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.verifyOtp(otpVerificationDTO));
+
+        assertEquals("Too many OTP attempts. Please request a new code.", exception.getMessage());
+        verify(otpRepository, never()).findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(any(), anyString(), any(), any());
     }
 
     @Test
     public void verifyOtp_ExpiredOtp_ThrowsException() {
         // Arrange
         when(userRepository.findByEmail(otpVerificationDTO.getEmail())).thenReturn(Optional.of(user));
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get("otp:" + otpVerificationDTO.getEmail())).thenReturn("123456");
+        when(otpCacheService.fetchForVerification(otpVerificationDTO.getEmail(), 5L))
+                .thenReturn(Optional.of(new OtpCacheService.OtpLookup("123456", 1)));
 
         Otp expiredOtp = new Otp();
         expiredOtp.setUserId(1L);
@@ -199,7 +420,7 @@ public class AuthServiceTest {
         expiredOtp.setExpirationTime(LocalDateTime.now().minusMinutes(1)); // Expired
         expiredOtp.setVerified(false);
 
-        when(otpRepository.findByUserIdAndCodeAndVerifiedFalse(user.getId(), "123456")).thenReturn(Optional.of(expiredOtp)); // Fixed: use user.getId()
+        when(otpRepository.findByUserIdAndCodeAndVerifiedFalseAndExpirationTimeBetween(eq(user.getId()), eq("123456"), any(), any())).thenReturn(Optional.of(expiredOtp)); // Fixed: use user.getId()
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class,
@@ -215,6 +436,7 @@ public class AuthServiceTest {
         when(userRepository.findByEmail(loginDTO.getEmail())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginDTO.getPassword(), user.getPassword())).thenReturn(true);
         when(jwtUtil.generateToken(user.getEmail(), user.getId())).thenReturn("jwt-token");
+        when(refreshTokenService.issue(user.getId())).thenReturn("refresh-token");
 
         // Act
         AuthResponse response = authService.login(loginDTO);
@@ -222,6 +444,7 @@ public class AuthServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
+        assertEquals("refresh-token", response.getRefreshToken());
         assertEquals("Login successful", response.getMessage());
         assertNotNull(response.getUser());
         assertEquals(user.getEmail(), response.getUser().getEmail());
@@ -229,6 +452,8 @@ public class AuthServiceTest {
         verify(userRepository).findByEmail(loginDTO.getEmail());
         verify(passwordEncoder).matches(loginDTO.getPassword(), user.getPassword());
         verify(jwtUtil).generateToken(user.getEmail(), user.getId());
+        verify(passwordRehashService).rehashIfStale(user, loginDTO.getPassword());
+        verify(loginAuditService).record(user.getId());
     }
 
     @Test
@@ -237,7 +462,7 @@ public class AuthServiceTest {
         when(userRepository.findByEmail(loginDTO.getEmail())).thenReturn(Optional.empty());
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        InvalidCredentialsException exception = assertThrows(InvalidCredentialsException.class,
                 () -> authService.login(loginDTO));
 
         assertEquals("Invalid credentials", exception.getMessage());
@@ -251,7 +476,7 @@ public class AuthServiceTest {
         when(passwordEncoder.matches(loginDTO.getPassword(), user.getPassword())).thenReturn(false);
 
         // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class,
+        InvalidCredentialsException exception = assertThrows(InvalidCredentialsException.class,
                 () -> authService.login(loginDTO));
 
         assertEquals("Invalid credentials", exception.getMessage());
@@ -275,6 +500,71 @@ public class AuthServiceTest {
         verify(passwordEncoder).matches(loginDTO.getPassword(), user.getPassword());
     }
 
+    @Test
+    public void logout_RevokesTokenUntilExpiry() {
+        // Arrange
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+        Claims claims = Jwts.claims().id("token-id").subject(user.getEmail()).expiration(expiration).build();
+        when(jwtUtil.extractAllClaims("jwt-token")).thenReturn(claims);
+
+        // Act
+        AuthResponse response = authService.logout("jwt-token", "refresh-token");
+
+        // Assert
+        assertEquals("Logged out successfully", response.getMessage());
+        verify(tokenRevocationService).revoke("token-id", expiration);
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+
+    @Test
+    public void logout_RedisDown_RevokesRefreshTokenAndReportsUnavailable() {
+        // Arrange
+        Date expiration = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+        Claims claims = Jwts.claims().id("token-id").subject(user.getEmail()).expiration(expiration).build();
+        when(jwtUtil.extractAllClaims("jwt-token")).thenReturn(claims);
+        doThrow(new RevocationUnavailableException("Logout could not be completed. Please try again."))
+                .when(tokenRevocationService).revoke("token-id", expiration);
+
+        // Act & Assert
+        assertThrows(RevocationUnavailableException.class, () -> authService.logout("jwt-token", "refresh-token"));
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+
+    @Test
+    public void refresh_Success() {
+        // Arrange
+        user.setActive(true);
+        RefreshTokenDTO refreshTokenDTO = new RefreshTokenDTO();
+        refreshTokenDTO.setRefreshToken("refresh-token");
+        when(refreshTokenService.rotate("refresh-token")).thenReturn(new RefreshTokenService.Rotation(user.getId(), "rotated-token"));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(jwtUtil.generateToken(user.getEmail(), user.getId())).thenReturn("jwt-token");
+
+        // Act
+        AuthResponse response = authService.refresh(refreshTokenDTO);
+
+        // Assert
+        assertEquals("jwt-token", response.getToken());
+        assertEquals("rotated-token", response.getRefreshToken());
+        assertEquals("Token refreshed", response.getMessage());
+    }
+
+    @Test
+    public void refresh_ReusedToken_ThrowsException() {
+        // Arrange
+        RefreshTokenDTO refreshTokenDTO = new RefreshTokenDTO();
+        refreshTokenDTO.setRefreshToken("refresh-token");
+        when(refreshTokenService.rotate("refresh-token"))
+                .thenThrow(new RuntimeException("Refresh token reuse detected. Please log in again."));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.refresh(refreshTokenDTO));
+
+        assertEquals("Refresh token reuse detected. Please log in again.", exception.getMessage());
+        verify(jwtUtil, never()).generateToken(anyString(), anyLong());
+    }
+
     @Test
     public void getCurrentUser_Success() {
         // Arrange
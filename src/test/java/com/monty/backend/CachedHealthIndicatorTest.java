@@ -0,0 +1,88 @@
+package com.monty.backend;
+
+import com.monty.backend.Config.CachedHealthIndicator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedHealthIndicatorTest {
+
+    private MeterRegistry meterRegistry;
+    private AtomicInteger probes;
+    private AtomicBoolean failing;
+    private CachedHealthIndicator indicator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        probes = new AtomicInteger();
+        failing = new AtomicBoolean();
+        indicator = new CachedHealthIndicator("redis", () -> {
+            probes.incrementAndGet();
+            if (failing.get()) {
+                throw new ConnectException("Connection refused");
+            }
+        }, Duration.ofSeconds(30), meterRegistry);
+    }
+
+    @Test
+    void health_ServesLastResultWithoutProbing() {
+        // Arrange
+        indicator.refresh();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            indicator.health();
+        }
+
+        // Assert
+        assertEquals(Status.UP, indicator.health().getStatus());
+        assertTrue(indicator.health().getDetails().containsKey("latencyMs"));
+        assertEquals(1, probes.get());
+        assertEquals(1.0, meterRegistry.get("health.dependency.up").tag("dependency", "redis").gauge().value());
+    }
+
+    @Test
+    void failedProbe_ReportsDownWithError() {
+        // Arrange
+        failing.set(true);
+
+        // Act
+        indicator.refresh();
+
+        // Assert
+        Health health = indicator.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("ConnectException: Connection refused", health.getDetails().get("error"));
+        assertEquals(0.0, meterRegistry.get("health.dependency.up").tag("dependency", "redis").gauge().value());
+    }
+
+    @Test
+    void beforeFirstProbe_ReportsDown() {
+        // Assert
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+        assertEquals(0, probes.get());
+    }
+
+    @Test
+    void staleResult_ReportsDown() {
+        // Arrange
+        indicator.refresh();
+
+        // Act
+        Health health = indicator.health(System.currentTimeMillis() + Duration.ofMinutes(1).toMillis());
+
+        // Assert
+        assertEquals(Status.DOWN, health.getStatus());
+    }
+}
@@ -0,0 +1,132 @@
+package com.monty.backend;
+
+import com.monty.backend.Security.ConcurrencyLimitFilter;
+import com.monty.backend.Util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(meterRegistry, true, 1, 1, 10, 2);
+    }
+
+    @Test
+    void limitReached_ShedsWith503AndRetryAfter() throws Exception {
+        // Arrange
+        assertTrue(filter.getLimit("login").tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), response, chain);
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.counter("http.concurrency.rejected", "endpoint", "login").count());
+    }
+
+    @Test
+    void endpointsHaveSeparateLimits() throws Exception {
+        // Arrange
+        assertTrue(filter.getLimit("login").tryAcquire());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/register"), response, chain);
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertEquals(0, filter.getLimit("register").getInflight());
+        assertEquals(1.0, meterRegistry.get("http.concurrency.inflight").tag("endpoint", "login").gauge().value());
+    }
+
+    @Test
+    void unlimitedPath_PassesThrough() throws Exception {
+        // Arrange
+        filter.getLimit("user").tryAcquire();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/auth/refresh"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void risingLatency_ShrinksLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 4, 200);
+        for (int i = 0; i < 100; i++) {
+            limit.release(1_000_000, 50, false);
+        }
+        int steadyLimit = limit.getLimit();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            limit.release(10_000_000, steadyLimit, false);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() < steadyLimit / 2, "limit " + limit.getLimit() + " vs " + steadyLimit);
+    }
+
+    @Test
+    void steadyLatencyUnderLoad_GrowsLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 200);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.release(1_000_000, limit.getLimit(), false);
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() > 20);
+    }
+
+    @Test
+    void idleEndpoint_KeepsLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 200);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.release(1_000_000, 1, false);
+        }
+
+        // Assert
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void drops_BackOffToMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limit.release(1_000_000, 20, true);
+        }
+
+        // Assert
+        assertEquals(4, limit.getLimit());
+    }
+}
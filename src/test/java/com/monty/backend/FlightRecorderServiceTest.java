@@ -0,0 +1,114 @@
+package com.monty.backend;
+
+import com.monty.backend.Config.FlightRecorderEndpoint;
+import com.monty.backend.Service.FlightRecorderService;
+import com.monty.backend.Util.AuthOperationEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private FlightRecorderService flightRecorderService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        flightRecorderService = new FlightRecorderService(true, "default", Duration.ofMinutes(5), DataSize.ofMegabytes(32), dumpDirectory);
+        flightRecorderService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecorderService.stop();
+    }
+
+    @Test
+    void dump_ContainsCustomEvents() throws Exception {
+        // Arrange
+        AuthOperationEvent event = new AuthOperationEvent();
+        event.begin();
+        event.operation = "login";
+        event.outcome = "success";
+        event.commit();
+
+        // Act
+        Path dump = flightRecorderService.dump(1);
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertTrue(events.stream().anyMatch(recorded ->
+                recorded.getEventType().getName().equals("com.monty.auth.Operation")
+                        && "login".equals(recorded.getString("operation"))
+                        && "success".equals(recorded.getString("outcome"))));
+    }
+
+    @Test
+    void dump_KeepsOtherRecentDumps() throws Exception {
+        // Act
+        Path first = flightRecorderService.dump(1);
+        Path second = flightRecorderService.dump(1);
+
+        // Assert
+        assertNotEquals(first, second);
+        assertTrue(Files.size(first) > 0);
+        assertTrue(Files.size(second) > 0);
+    }
+
+    @Test
+    void dump_DeletesDumpsPastRetention() throws Exception {
+        // Arrange
+        Path abandoned = Files.createFile(dumpDirectory.resolve("monty-abandoned.jfr"));
+        Files.setLastModifiedTime(abandoned, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        // Act
+        flightRecorderService.dump(1);
+
+        // Assert
+        assertFalse(Files.exists(abandoned));
+    }
+
+    @Test
+    void endpoint_DeletesDumpOnceRead() throws Exception {
+        // Arrange
+        Resource resource = new FlightRecorderEndpoint(flightRecorderService).dump(1);
+        Path file = resource.getFile().toPath();
+
+        // Act
+        try (InputStream in = resource.getInputStream()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        // Assert
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void dump_Disabled_Throws() throws Exception {
+        // Arrange
+        FlightRecorderService disabled = new FlightRecorderService(false, "default", Duration.ofMinutes(5), DataSize.ofMegabytes(32), dumpDirectory);
+        disabled.start();
+
+        // Act & Assert
+        assertFalse(disabled.isRunning());
+        assertThrows(IllegalStateException.class, () -> disabled.dump(1));
+    }
+}
@@ -0,0 +1,99 @@
+package com.monty.backend;
+
+import com.monty.backend.Config.GlobalExceptionHandler;
+import com.monty.backend.Controller.AuthController;
+import com.monty.backend.DTO.LoginDTO;
+import com.monty.backend.Exception.*;
+import com.monty.backend.Service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class GlobalExceptionHandlerTest {
+
+    private static final String LOGIN_BODY = "{\"email\":\"john.doe@example.com\",\"password\":\"password123\"}";
+
+    @Mock
+    private AuthService authService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new AuthController(authService))
+                .setControllerAdvice(new GlobalExceptionHandler(1))
+                .build();
+    }
+
+    @Test
+    void authException_MapsToItsStatusAndMessage() throws Exception {
+        // Arrange
+        when(authService.login(any(LoginDTO.class))).thenThrow(new InvalidCredentialsException("Invalid credentials"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid credentials"));
+    }
+
+    @Test
+    void authException_EachTypeHasItsOwnStatus() throws Exception {
+        // Arrange
+        when(authService.login(any(LoginDTO.class)))
+                .thenThrow(new AccountNotActivatedException("Account not activated. Please verify your OTP first."))
+                .thenThrow(new TooManyAttemptsException("Too many OTP attempts. Please request a new code."))
+                .thenThrow(new OtpExpiredException("OTP has expired"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void validationError_ReturnsBadRequestWithFieldDetails() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content("{\"email\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("Validation failed: ")));
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void unexpectedError_ReturnsGenericMessage() throws Exception {
+        // Arrange
+        when(authService.login(any(LoginDTO.class))).thenThrow(new IllegalStateException("connection pool exhausted"));
+
+        // Act & Assert, the second error falls outside the log budget but is still answered the same way
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(jsonPath("$.message").value("Internal server error"));
+        }
+    }
+
+    @Test
+    void logout_WithoutBearerPrefix_IsUnauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Basic abc"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Bearer token required"));
+        verifyNoInteractions(authService);
+    }
+}
@@ -0,0 +1,109 @@
+package com.monty.backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * TCP proxy for fault-injection tests. Every chunk travelling in either direction
+ * is held for the configured latency before it is forwarded; the upstream
+ * connection itself is only opened once the first delayed chunk is due.
+ */
+public class LatencyProxy implements AutoCloseable {
+
+    private final String upstreamHost;
+    private final int upstreamPort;
+    private final ServerSocket serverSocket;
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+    private volatile Duration latency;
+
+    public LatencyProxy(String upstreamHost, int upstreamPort, Duration latency) throws IOException {
+        this.upstreamHost = upstreamHost;
+        this.upstreamPort = upstreamPort;
+        this.latency = latency;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("latency-proxy-accept").start(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                sockets.add(client);
+                Thread.ofVirtual().start(() -> forwardClient(client));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void forwardClient(Socket client) {
+        Socket upstream = null;
+        try (InputStream in = client.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                Thread.sleep(latency.toMillis());
+                if (upstream == null) {
+                    upstream = new Socket(upstreamHost, upstreamPort);
+                    sockets.add(upstream);
+                    Socket source = upstream;
+                    Thread.ofVirtual().start(() -> pump(source, client));
+                }
+                upstream.getOutputStream().write(buffer, 0, read);
+            }
+        } catch (IOException | InterruptedException e) {
+            // connection closed by either side or by close()
+        } finally {
+            closeQuietly(client);
+            closeQuietly(upstream);
+        }
+    }
+
+    private void pump(Socket from, Socket to) {
+        try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                Thread.sleep(latency.toMillis());
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | InterruptedException e) {
+            // connection closed by either side or by close()
+        } finally {
+            closeQuietly(from);
+            closeQuietly(to);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        if (socket == null) {
+            return;
+        }
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sockets.forEach(LatencyProxy::closeQuietly);
+    }
+}
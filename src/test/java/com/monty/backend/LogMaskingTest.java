@@ -0,0 +1,113 @@
+package com.monty.backend;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import com.monty.backend.Config.LogMaskingJsonCustomizer;
+import com.monty.backend.Config.LogSamplingFilter;
+import com.monty.backend.Util.LogMasker;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.json.JsonWriter;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogMaskingTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    @Test
+    void mask_HidesEmailLocalPart() {
+        // Act
+        String masked = LogMasker.mask("Login successful for user: john.doe@example.com");
+
+        // Assert
+        assertEquals("Login successful for user: j***@example.com", masked);
+    }
+
+    @Test
+    void mask_HidesOtpCode() {
+        // Act
+        String masked = LogMasker.mask("Body: Hello John, your OTP code is: 123456");
+
+        // Assert
+        assertEquals("Body: Hello John, your OTP code is: ******", masked);
+    }
+
+    @Test
+    void mask_HidesOtpCodeUpToColumnWidth() {
+        // Act
+        String masked = LogMasker.mask("Resent OTP code 123456789012");
+
+        // Assert
+        assertEquals("Resent OTP code ******", masked);
+    }
+
+    @Test
+    void mask_LeavesOtherNumbersAlone() {
+        // Act
+        String masked = LogMasker.mask("User created with ID: 123456");
+
+        // Assert
+        assertEquals("User created with ID: 123456", masked);
+    }
+
+    @Test
+    void jsonCustomizer_MasksMessageMember() {
+        // Arrange
+        JsonWriter<String> writer = JsonWriter.of(members -> {
+            members.add("logger_name", value -> "com.monty.backend.Service.AuthService");
+            members.add("message", value -> value);
+            new LogMaskingJsonCustomizer().customize((JsonWriter.Members) members);
+        });
+
+        // Act
+        String json = writer.writeToString("OTP email sent successfully to: john.doe@example.com");
+
+        // Assert
+        assertTrue(json.contains("\"message\":\"OTP email sent successfully to: j***@example.com\""), json);
+        assertTrue(json.contains("\"logger_name\":\"com.monty.backend.Service.AuthService\""), json);
+    }
+
+    @Test
+    void samplingFilter_KeepsOneInRateForSampledLoggers() {
+        // Arrange
+        LogSamplingFilter filter = new LogSamplingFilter();
+        filter.setLoggers("com.monty.backend.Service.AuthService, com.monty.backend.Service.EmailService");
+        filter.setRate(10);
+
+        // Act
+        long kept = IntStream.range(0, 100)
+                .filter(i -> filter.decide(event("com.monty.backend.Service.AuthService", Level.INFO)) == FilterReply.NEUTRAL)
+                .count();
+
+        // Assert
+        assertEquals(10, kept);
+    }
+
+    @Test
+    void samplingFilter_AlwaysKeepsWarningsAndOtherLoggers() {
+        // Arrange
+        LogSamplingFilter filter = new LogSamplingFilter();
+        filter.setLoggers("com.monty.backend.Service.AuthService");
+        filter.setRate(1000);
+        filter.decide(event("com.monty.backend.Service.AuthService", Level.INFO));
+
+        // Act & Assert
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event("com.monty.backend.Service.AuthService", Level.WARN)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event("com.monty.backend.Service.AuthServiceHelper", Level.INFO)));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(event("com.monty.backend.Service.OtpCacheService", Level.INFO)));
+        assertEquals(FilterReply.DENY, filter.decide(event("com.monty.backend.Service.AuthService", Level.INFO)));
+    }
+
+    private LoggingEvent event(String loggerName, Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName(loggerName);
+        event.setLevel(level);
+        event.setMessage("message");
+        event.setLoggerContext(loggerContext);
+        return event;
+    }
+}
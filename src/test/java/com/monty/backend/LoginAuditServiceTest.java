@@ -0,0 +1,120 @@
+package com.monty.backend;
+
+import com.monty.backend.Service.LoginAuditService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAuditServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    private LoginAuditService loginAuditService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Long interval and large batches so only the test triggers flushes
+        loginAuditService = new LoginAuditService(jdbcTemplate, meterRegistry, 3, 100, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        loginAuditService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WritesHistoryInOneInsertAndLatestLoginPerUser() {
+        // Arrange
+        loginAuditService.record(1L);
+        loginAuditService.record(2L);
+        loginAuditService.record(1L);
+        ArgumentCaptor<Object[]> insertArgs = ArgumentCaptor.forClass(Object[].class);
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        loginAuditService.flush();
+
+        // Assert
+        verify(jdbcTemplate).update(eq("insert into login_history (user_id, login_at) values (?, ?), (?, ?), (?, ?)"),
+                insertArgs.capture());
+        Object[] rows = insertArgs.getValue();
+        assertEquals(6, rows.length);
+        assertEquals(List.of(1L, 2L, 1L), List.of(rows[0], rows[2], rows[4]));
+
+        verify(jdbcTemplate).batchUpdate(startsWith("update users set last_login_at"), updates.capture());
+        List<Object[]> userUpdates = updates.getValue();
+        assertEquals(2, userUpdates.size());
+        assertEquals(1L, userUpdates.get(0)[1]);
+        // User 1 gets the timestamp of its second login
+        assertEquals(rows[5], userUpdates.get(0)[0]);
+        assertEquals(rows[5], userUpdates.get(0)[2]);
+        assertEquals(2L, userUpdates.get(1)[1]);
+        assertEquals(3.0, meterRegistry.counter("login.audit.events", "result", "written").count());
+    }
+
+    @Test
+    void record_QueueFull_DropsEvent() {
+        // Arrange
+        loginAuditService.record(1L);
+        loginAuditService.record(2L);
+        loginAuditService.record(3L);
+
+        // Act
+        boolean recorded = loginAuditService.record(4L);
+
+        // Assert
+        assertFalse(recorded);
+        assertEquals(3.0, meterRegistry.counter("login.audit.events", "result", "queued").count());
+        assertEquals(1.0, meterRegistry.counter("login.audit.events", "result", "dropped").count());
+        assertEquals(3.0, meterRegistry.get("login.audit.queue.size").gauge().value());
+    }
+
+    @Test
+    void flush_DatabaseFails_CountsFailedAndFreesQueue() {
+        // Arrange
+        loginAuditService.record(1L);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // Act
+        loginAuditService.flush();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.counter("login.audit.events", "result", "failed").count());
+        assertEquals(0.0, meterRegistry.get("login.audit.queue.size").gauge().value());
+        assertTrue(loginAuditService.record(2L));
+    }
+
+    @Test
+    void shutdown_WritesRemainingEvents() throws InterruptedException {
+        // Arrange
+        loginAuditService.record(1L);
+
+        // Act
+        loginAuditService.shutdown();
+
+        // Assert
+        verify(jdbcTemplate).update(eq("insert into login_history (user_id, login_at) values (?, ?)"), any(Object[].class));
+        assertEquals(1.0, meterRegistry.counter("login.audit.events", "result", "written").count());
+    }
+}
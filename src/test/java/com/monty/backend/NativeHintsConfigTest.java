@@ -0,0 +1,43 @@
+package com.monty.backend;
+
+import com.monty.backend.Config.NativeHintsConfig;
+import com.monty.backend.DTO.OtpEvent;
+import com.monty.backend.Model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeHint;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.Hints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registersJjwtOtpEventAndEntityHints() {
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(OtpEvent.class, "getOtpCode").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(User.class).test(hints));
+    }
+
+    @Test
+    void jjwtClassNames_ExistOnClasspath() {
+        // Assert: a class renamed in a jjwt upgrade would otherwise only fail inside the native image
+        hints.reflection().typeHints()
+                .map(TypeHint::getType)
+                .map(TypeReference::getName)
+                .filter(name -> name.startsWith("io.jsonwebtoken"))
+                .forEach(name -> assertDoesNotThrow(() -> Class.forName(name), name));
+    }
+}
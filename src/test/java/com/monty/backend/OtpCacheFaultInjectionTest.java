@@ -0,0 +1,107 @@
+package com.monty.backend;
+
+import com.monty.backend.Config.RedisConfig;
+import com.monty.backend.Service.OtpCacheService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Puts a latency-injecting proxy between the OTP cache and Redis and checks that
+ * slow Redis calls are cut off by the command timeout, trip the circuit breaker,
+ * and are then skipped without touching the network.
+ */
+class OtpCacheFaultInjectionTest {
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofMillis(200);
+
+    private LatencyProxy proxy;
+    private LettuceConnectionFactory connectionFactory;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private MeterRegistry meterRegistry;
+    private OtpCacheService otpCacheService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Far beyond the command timeout, so no reply ever arrives in time
+        proxy = new LatencyProxy("localhost", 6379, Duration.ofSeconds(5));
+
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", proxy.getPort()),
+                LettuceClientConfiguration.builder()
+                        .commandTimeout(COMMAND_TIMEOUT)
+                        .clientOptions(ClientOptions.builder()
+                                .socketOptions(SocketOptions.builder().connectTimeout(COMMAND_TIMEOUT).build())
+                                .timeoutOptions(TimeoutOptions.enabled())
+                                .build())
+                        .build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        meterRegistry = new SimpleMeterRegistry();
+        otpCacheService = new OtpCacheService(
+                new RedisConfig().redisTemplate(connectionFactory), circuitBreakerRegistry, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connectionFactory.destroy();
+        proxy.close();
+    }
+
+    @Test
+    void slowRedis_IsCutOffByTimeout() {
+        // Act
+        long start = System.nanoTime();
+        boolean stored = otpCacheService.store("john.doe@example.com", "123456", 5);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertFalse(stored);
+        assertTrue(elapsedMillis < 2_000, "store took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void slowRedis_OpensBreakerAndFailsFast() {
+        // Arrange - fill the sliding window with timed-out calls
+        for (int i = 0; i < 4; i++) {
+            assertFalse(otpCacheService.store("john.doe@example.com", "123456", 5));
+        }
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(OtpCacheService.CIRCUIT_BREAKER);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // Act
+        long start = System.nanoTime();
+        boolean fetched = otpCacheService.fetchForVerification("john.doe@example.com", 5).isPresent();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertFalse(fetched);
+        assertTrue(elapsedMillis < COMMAND_TIMEOUT.toMillis(), "open breaker still waited " + elapsedMillis + "ms");
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+        assertEquals(4.0, meterRegistry.counter("otp.cache.fallback", "operation", "store").count());
+        assertEquals(1.0, meterRegistry.counter("otp.cache.fallback", "operation", "fetch").count());
+    }
+}
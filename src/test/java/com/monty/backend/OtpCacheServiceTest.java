@@ -0,0 +1,144 @@
+package com.monty.backend;
+
+import com.monty.backend.Service.OtpCacheService;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.lettuce.core.cluster.SlotHash;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("rawtypes")
+class OtpCacheServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    private OtpCacheService otpCacheService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        otpCacheService = new OtpCacheService(redisTemplate, CircuitBreakerRegistry.ofDefaults(), meterRegistry);
+    }
+
+    @Test
+    void store_UsesSinglePipeline() {
+        // Act
+        boolean stored = otpCacheService.store("john.doe@example.com", "123456", 5);
+
+        // Assert
+        assertTrue(stored);
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    void store_RedisDown_ReturnsFalse() {
+        // Arrange
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        // Act
+        boolean stored = otpCacheService.store("john.doe@example.com", "123456", 5);
+
+        // Assert
+        assertFalse(stored);
+        assertEquals(1.0, meterRegistry.counter("otp.cache.fallback", "operation", "store").count());
+    }
+
+    @Test
+    void fetchForVerification_MapsScriptResults() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), (RedisSerializer<?>) any(), (RedisSerializer<List>) any(),
+                eq(List.of("otp:{john.doe@example.com}", "otp:{john.doe@example.com}:attempts")), anyString()))
+                .thenReturn(Arrays.asList("123456", 3L));
+
+        // Act
+        Optional<OtpCacheService.OtpLookup> lookup = otpCacheService.fetchForVerification("john.doe@example.com", 5);
+
+        // Assert
+        assertTrue(lookup.isPresent());
+        assertEquals("123456", lookup.get().otpCode());
+        assertEquals(3L, lookup.get().attempts());
+    }
+
+    @Test
+    void fetchForVerification_MissingOtp_ReturnsNullCode() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), (RedisSerializer<?>) any(), (RedisSerializer<List>) any(), any(List.class), anyString()))
+                .thenReturn(Arrays.asList(null, 1L));
+
+        // Act
+        Optional<OtpCacheService.OtpLookup> lookup = otpCacheService.fetchForVerification("john.doe@example.com", 5);
+
+        // Assert
+        assertTrue(lookup.isPresent());
+        assertNull(lookup.get().otpCode());
+        assertEquals(1L, lookup.get().attempts());
+    }
+
+    @Test
+    void fetchForVerification_RedisDown_ReturnsEmpty() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), (RedisSerializer<?>) any(), (RedisSerializer<List>) any(), any(List.class), anyString()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        // Act
+        Optional<OtpCacheService.OtpLookup> lookup = otpCacheService.fetchForVerification("john.doe@example.com", 5);
+
+        // Assert
+        assertTrue(lookup.isEmpty());
+        assertEquals(1.0, meterRegistry.counter("otp.cache.fallback", "operation", "fetch").count());
+    }
+
+    @Test
+    void evict_DeletesOtpAndAttemptCounter() {
+        // Act
+        otpCacheService.evict("john.doe@example.com");
+
+        // Assert
+        verify(redisTemplate).delete(List.of("otp:{john.doe@example.com}", "otp:{john.doe@example.com}:attempts"));
+    }
+
+    @Test
+    void markUsed_RedisDown_RejectsCode() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        // Act
+        boolean firstUse = otpCacheService.markUsed("john.doe@example.com", "123456", 900_000);
+
+        // Assert
+        assertFalse(firstUse);
+        assertEquals(1.0, meterRegistry.counter("otp.cache.fallback", "operation", "mark_used").count());
+    }
+
+    @Test
+    void otpKeys_ShareClusterSlot() {
+        // Assert
+        assertEquals(SlotHash.getSlot("otp:{john.doe@example.com}"),
+                SlotHash.getSlot("otp:{john.doe@example.com}:attempts"));
+    }
+}
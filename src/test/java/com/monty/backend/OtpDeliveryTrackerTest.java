@@ -0,0 +1,125 @@
+package com.monty.backend;
+
+import com.monty.backend.DTO.OtpEvent;
+import com.monty.backend.Service.OtpDeliveryTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OtpDeliveryTrackerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private MeterRegistry meterRegistry;
+    private OtpDeliveryTracker otpDeliveryTracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        otpDeliveryTracker = new OtpDeliveryTracker(meterRegistry, Duration.ofSeconds(10), 0.99);
+    }
+
+    @Test
+    void recordDelivered_RecordsTotalTimeSinceRequest() {
+        // Act
+        otpDeliveryTracker.recordDelivered(event(NOW - 3_000, NOW + 300_000), NOW);
+
+        // Assert
+        assertEquals(3.0, meterRegistry.get("otp.delivery.total").timer().totalTime(TimeUnit.SECONDS));
+        assertEquals(0.0, meterRegistry.get("otp.delivery.late").counter().count());
+    }
+
+    @Test
+    void recordDelivered_AfterExpiry_CountsLateDelivery() {
+        // Act
+        otpDeliveryTracker.recordDelivered(event(NOW - 400_000, NOW - 100_000), NOW);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("otp.delivery.late").counter().count());
+    }
+
+    @Test
+    void recordQueueWait_UsesPublishTimestamp() {
+        // Arrange
+        OtpEvent otpEvent = event(NOW - 5_000, NOW + 300_000);
+        otpEvent.setPublishedAt(NOW - 2_000);
+
+        // Act
+        otpDeliveryTracker.recordQueueWait(otpEvent, NOW);
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("otp.delivery.queue.wait").timer().totalTime(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void recordDelivered_EventWithoutTimestamps_IsIgnored() {
+        // Act
+        otpDeliveryTracker.recordDelivered(new OtpEvent("john.doe@example.com", "123456", "John Doe"), NOW);
+
+        // Assert
+        assertEquals(0, meterRegistry.get("otp.delivery.total").timer().count());
+        assertEquals(0, otpDeliveryTracker.snapshot(NOW).windows().get("5m").deliveries());
+    }
+
+    @Test
+    void snapshot_AllWithinTarget_NoBurn() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            otpDeliveryTracker.recordDelivered(event(NOW - 1_000, NOW + 300_000), NOW);
+        }
+
+        // Act
+        OtpDeliveryTracker.SloSnapshot snapshot = otpDeliveryTracker.snapshot(NOW);
+
+        // Assert
+        assertEquals(100, snapshot.windows().get("5m").deliveries());
+        assertEquals(0.0, snapshot.windows().get("1h").burnRate());
+        assertFalse(snapshot.fastBurn());
+        assertFalse(snapshot.slowBurn());
+    }
+
+    @Test
+    void snapshot_ManySlowDeliveries_ReportsFastBurn() {
+        // Arrange: 20% over target against a 1% budget is a burn rate of 20
+        for (int i = 0; i < 80; i++) {
+            otpDeliveryTracker.recordDelivered(event(NOW - 1_000, NOW + 300_000), NOW);
+        }
+        for (int i = 0; i < 20; i++) {
+            otpDeliveryTracker.recordDelivered(event(NOW - 30_000, NOW + 300_000), NOW);
+        }
+
+        // Act
+        OtpDeliveryTracker.SloSnapshot snapshot = otpDeliveryTracker.snapshot(NOW);
+
+        // Assert
+        assertEquals(20.0, snapshot.windows().get("5m").burnRate(), 0.001);
+        assertTrue(snapshot.fastBurn());
+        assertTrue(snapshot.slowBurn());
+    }
+
+    @Test
+    void snapshot_OldFailuresFallOutOfShortWindows() {
+        // Arrange
+        otpDeliveryTracker.recordFailed(event(NOW, NOW + 300_000), NOW - TimeUnit.MINUTES.toMillis(45));
+
+        // Act
+        OtpDeliveryTracker.SloSnapshot snapshot = otpDeliveryTracker.snapshot(NOW);
+
+        // Assert
+        assertEquals(0, snapshot.windows().get("30m").deliveries());
+        assertEquals(1, snapshot.windows().get("1h").slowOrFailed());
+    }
+
+    private static OtpEvent event(long createdAt, long expiresAt) {
+        OtpEvent otpEvent = new OtpEvent("john.doe@example.com", "123456", "John Doe");
+        otpEvent.setCreatedAt(createdAt);
+        otpEvent.setExpiresAt(expiresAt);
+        return otpEvent;
+    }
+}
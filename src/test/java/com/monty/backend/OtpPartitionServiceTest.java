@@ -0,0 +1,90 @@
+package com.monty.backend;
+
+import com.monty.backend.Service.OtpPartitionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OtpPartitionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+
+    private OtpPartitionService otpPartitionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        otpPartitionService = new OtpPartitionService(jdbcTemplate, transactionManager, meterRegistry, 2, 2, 2000);
+    }
+
+    @Test
+    void maintain_CreatesUpcomingAndDropsExpiredPartitions() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(startsWith("select exists"), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(startsWith("select pg_try_advisory_xact_lock"), eq(Boolean.class), any())).thenReturn(true);
+        when(jdbcTemplate.queryForObject(startsWith("select count(*) from pg_class"), eq(Integer.class), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(2).equals("otp_p20261019") ? 1 : 0);
+        when(jdbcTemplate.queryForList(startsWith("select c.relname"), eq(String.class)))
+                .thenReturn(List.of("otp_p20261016", "otp_p20261017", "otp_p20261019", "otp_legacy"));
+
+        // Act
+        otpPartitionService.maintain(TODAY);
+
+        // Assert
+        verify(jdbcTemplate).execute("set local lock_timeout = '2000ms'");
+        verify(jdbcTemplate).execute("create table otp_p20261020 partition of otp for values from ('2026-10-20') to ('2026-10-21')");
+        verify(jdbcTemplate).execute("create table otp_p20261021 partition of otp for values from ('2026-10-21') to ('2026-10-22')");
+        verify(jdbcTemplate).execute("drop table otp_p20261016");
+        verify(jdbcTemplate, never()).execute("drop table otp_p20261017");
+        verify(jdbcTemplate, never()).execute("drop table otp_legacy");
+        assertEquals(2.0, meterRegistry.counter("otp.partitions", "action", "created").count());
+        assertEquals(1.0, meterRegistry.counter("otp.partitions", "action", "dropped").count());
+    }
+
+    @Test
+    void maintain_TableNotPartitioned_DoesNothing() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(startsWith("select exists"), eq(Boolean.class))).thenReturn(false);
+
+        // Act
+        otpPartitionService.maintain(TODAY);
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void maintain_LockHeldByAnotherInstance_DoesNothing() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(startsWith("select exists"), eq(Boolean.class))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(startsWith("select pg_try_advisory_xact_lock"), eq(Boolean.class), any())).thenReturn(false);
+
+        // Act
+        otpPartitionService.maintain(TODAY);
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
@@ -0,0 +1,128 @@
+package com.monty.backend;
+
+import com.monty.backend.Util.OtpUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OtpUtilTest {
+
+    private static final String SECRET = "test-otp-secret-0123456789abcdef";
+
+    private final OtpUtil otpUtil = new OtpUtil(OtpUtil.MODE_DERIVED, SECRET, Duration.ofMinutes(5), 6, "0123456789");
+
+    @Test
+    void generateOtp_ReturnsSixDigits() {
+        // Act
+        String otp = new OtpUtil(OtpUtil.MODE_STORED, "", Duration.ofMinutes(5), 6, "0123456789").generateOtp();
+
+        // Assert
+        assertTrue(otp.matches("\\d{6}"), otp);
+    }
+
+    @Test
+    void deriveOtp_IsDeterministicPerSubject() {
+        // Act
+        String first = otpUtil.deriveOtp("1:john.doe@example.com");
+        String second = otpUtil.deriveOtp("1:john.doe@example.com");
+
+        // Assert
+        assertTrue(first.matches("\\d{6}"), first);
+        assertEquals(first, second);
+        assertTrue(otpUtil.isDerivedMode());
+    }
+
+    @Test
+    void matchesDerivedOtp_AcceptsOwnCodeOnly() {
+        // Arrange
+        String otp = otpUtil.deriveOtp("1:john.doe@example.com");
+
+        // Act & Assert
+        assertTrue(otpUtil.matchesDerivedOtp("1:john.doe@example.com", otp));
+        assertFalse(otpUtil.matchesDerivedOtp("2:john.doe@example.com", otp));
+        assertFalse(new OtpUtil(OtpUtil.MODE_DERIVED, "other-otp-secret-0123456789abcdef", Duration.ofMinutes(5), 6, "0123456789")
+                .matchesDerivedOtp("1:john.doe@example.com", otp));
+        assertFalse(otpUtil.matchesDerivedOtp("1:john.doe@example.com", "12345"));
+        assertFalse(otpUtil.matchesDerivedOtp("1:john.doe@example.com", null));
+    }
+
+    @Test
+    void matchesDerivedOtp_AcceptsPreviousWindowOnly() throws InterruptedException {
+        // Arrange, a 20ms step so the code ages by several windows within the test
+        OtpUtil shortLived = new OtpUtil(OtpUtil.MODE_DERIVED, SECRET, Duration.ofMillis(20), 6, "0123456789");
+        String otp = shortLived.deriveOtp("1:john.doe@example.com");
+
+        // Act
+        Thread.sleep(100);
+
+        // Assert
+        assertFalse(shortLived.matchesDerivedOtp("1:john.doe@example.com", otp));
+        assertEquals(Duration.ofMillis(60), shortLived.derivedOtpLifetime());
+    }
+
+    @Test
+    void generateOtp_UsesConfiguredLengthAndAlphabet() {
+        // Arrange
+        OtpUtil alphanumeric = new OtpUtil(OtpUtil.MODE_STORED, "", Duration.ofMinutes(5), 8, "ABCDEFGHJKLMNPQRSTUVWXYZ23456789");
+
+        // Act
+        String otp = alphanumeric.generateOtp();
+
+        // Assert
+        assertTrue(otp.matches("[A-HJ-NP-Z2-9]{8}"), otp);
+        assertTrue(alphanumeric.isValidOtpFormat(otp));
+        assertFalse(alphanumeric.isValidOtpFormat("ABCDEFG1"));
+    }
+
+    @Test
+    void generateOtp_IsUniformOverAlphabet() {
+        // Arrange
+        OtpUtil stored = new OtpUtil(OtpUtil.MODE_STORED, "", Duration.ofMinutes(5), 6, "0123456789");
+        int[] counts = new int[10];
+
+        // Act
+        for (int i = 0; i < 20_000; i++) {
+            for (char digit : stored.generateOtp().toCharArray()) {
+                counts[digit - '0']++;
+            }
+        }
+
+        // Assert, 12000 expected per digit; a modulo bias towards 0-5 would add about 2.3%
+        for (int count : counts) {
+            assertTrue(count > 11_500 && count < 12_500, Arrays.toString(counts));
+        }
+    }
+
+    @Test
+    void deriveOtp_WithCustomAlphabet_StaysInAlphabet() {
+        // Arrange
+        OtpUtil derived = new OtpUtil(OtpUtil.MODE_DERIVED, SECRET, Duration.ofMinutes(5), 6, "ABCDEFGHJKLMNPQRSTUVWXYZ23456789");
+
+        // Act
+        String otp = derived.deriveOtp("1:john.doe@example.com");
+
+        // Assert
+        assertTrue(derived.isValidOtpFormat(otp), otp);
+        assertTrue(derived.matchesDerivedOtp("1:john.doe@example.com", otp));
+    }
+
+    @Test
+    void constructor_DerivedModeWithoutSecret_Fails() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new OtpUtil(OtpUtil.MODE_DERIVED, " ", Duration.ofMinutes(5), 6, "0123456789"));
+        assertThrows(IllegalArgumentException.class, () -> new OtpUtil(OtpUtil.MODE_DERIVED, "too-short-secret", Duration.ofMinutes(5), 6, "0123456789"));
+        assertThrows(IllegalArgumentException.class, () -> new OtpUtil("random", "secret", Duration.ofMinutes(5), 6, "0123456789"));
+        assertThrows(IllegalArgumentException.class, () -> new OtpUtil(OtpUtil.MODE_STORED, "", Duration.ofMinutes(5), 6, "0012345678"));
+        assertThrows(IllegalArgumentException.class, () -> new OtpUtil(OtpUtil.MODE_DERIVED, SECRET, Duration.ofMinutes(5), 12, "0123456789"));
+    }
+
+    @Test
+    void constructor_StoredCodeLongerThanColumn_Fails() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new OtpUtil(OtpUtil.MODE_STORED, "", Duration.ofMinutes(5), 13, "0123456789"));
+        assertEquals(12, new OtpUtil(OtpUtil.MODE_STORED, "", Duration.ofMinutes(5), 12, "0123456789").generateOtp().length());
+    }
+}
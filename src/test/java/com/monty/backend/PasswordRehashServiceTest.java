@@ -0,0 +1,116 @@
+package com.monty.backend;
+
+import com.monty.backend.Config.PasswordEncoderConfig;
+import com.monty.backend.Model.User;
+import com.monty.backend.Repository.IUserRepository;
+import com.monty.backend.Service.PasswordRehashService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordRehashServiceTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Mock
+    private IUserRepository userRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordEncoder passwordEncoder = new PasswordEncoderConfig()
+            .passwordEncoder(PasswordEncoderConfig.BCRYPT, false, Duration.ofMillis(200), 5, 16);
+    private PasswordRehashService passwordRehashService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        passwordRehashService = new PasswordRehashService(passwordEncoder, userRepository, meterRegistry, 1, 10);
+        user = new User();
+        user.setEmail("john.doe@example.com");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        passwordRehashService.shutdown();
+    }
+
+    @Test
+    void passwordEncoder_MatchesLegacyUnprefixedBcrypt() {
+        // Arrange, hashes stored before the {id} prefix was introduced
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        // Act & Assert
+        assertTrue(passwordEncoder.matches(PASSWORD, legacyHash));
+        assertTrue(passwordEncoder.upgradeEncoding(legacyHash));
+        assertTrue(passwordEncoder.encode(PASSWORD).startsWith("{bcrypt}"));
+    }
+
+    @Test
+    void rehashIfStale_LowerCost_StoresNewHashInBackground() {
+        // Arrange
+        String staleHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+        user.setPassword(staleHash);
+        when(userRepository.replacePasswordHash(any(), eq(staleHash), anyString())).thenReturn(1);
+
+        // Act
+        passwordRehashService.rehashIfStale(user, PASSWORD);
+
+        // Assert
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository, timeout(5000)).replacePasswordHash(any(), eq(staleHash), newHash.capture());
+        assertTrue(passwordEncoder.matches(PASSWORD, newHash.getValue()));
+        assertFalse(passwordEncoder.upgradeEncoding(newHash.getValue()));
+    }
+
+    @Test
+    void rehashIfStale_CurrentHash_DoesNothing() throws InterruptedException {
+        // Arrange
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+
+        // Act
+        passwordRehashService.rehashIfStale(user, PASSWORD);
+        passwordRehashService.shutdown();
+
+        // Assert
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void rehashIfStale_OtherAlgorithm_UpgradesToDefault() {
+        // Arrange
+        PasswordEncoder argon2Default = new PasswordEncoderConfig()
+                .passwordEncoder(PasswordEncoderConfig.ARGON2, false, Duration.ofMillis(200), 5, 16);
+
+        // Act
+        String bcryptHash = passwordEncoder.encode(PASSWORD);
+
+        // Assert
+        assertTrue(argon2Default.matches(PASSWORD, bcryptHash));
+        assertTrue(argon2Default.upgradeEncoding(bcryptHash));
+        assertTrue(argon2Default.encode(PASSWORD).startsWith("{argon2}"));
+    }
+
+    @Test
+    void calibrate_PicksHighestCostWithinTarget() {
+        // Act, a target no BCrypt cost can meet falls back to the minimum
+        PasswordEncoder calibrated = new PasswordEncoderConfig()
+                .passwordEncoder(PasswordEncoderConfig.BCRYPT, true, Duration.ofNanos(1), 4, 16);
+
+        // Assert
+        assertTrue(calibrated.encode(PASSWORD).startsWith("{bcrypt}$2a$04$"));
+    }
+}
@@ -2,12 +2,16 @@ package com.monty.backend;
 
 import com.monty.backend.DTO.OtpEvent;
 import com.monty.backend.Service.EmailService;
+import com.monty.backend.Service.OtpDeliveryTracker;
 import com.monty.backend.Service.RabbitMqService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -25,6 +29,12 @@ class RabbitMqServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private OtpDeliveryTracker otpDeliveryTracker;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private RabbitMqService rabbitMqService;
 
@@ -49,6 +59,7 @@ class RabbitMqServiceTest {
                 RabbitMqService.OTP_ROUTING_KEY,
                 otpEvent
         );
+        assertTrue(otpEvent.getPublishedAt() > 0);
     }
 
     @Test
@@ -83,6 +94,8 @@ class RabbitMqServiceTest {
 
         // Assert
         verify(emailService).sendOtpEmail(otpEvent);
+        verify(otpDeliveryTracker).recordDelivered(eq(otpEvent), anyLong());
+        assertEquals(1, meterRegistry.get("otp.consume").tag("outcome", "sent").timer().count());
     }
 
     @Test
@@ -110,6 +123,8 @@ class RabbitMqServiceTest {
         assertDoesNotThrow(() -> rabbitMqService.consumeOtpMessage(otpEvent));
 
         verify(emailService).sendOtpEmail(otpEvent);
+        verify(otpDeliveryTracker).recordFailed(eq(otpEvent), anyLong());
+        assertEquals(1, meterRegistry.get("otp.consume").tag("outcome", "failed").timer().count());
     }
 
     @Test
@@ -0,0 +1,128 @@
+package com.monty.backend;
+
+import com.monty.backend.Config.RabbitMqConfig;
+import com.monty.backend.DTO.OtpEvent;
+import com.monty.backend.Service.EmailService;
+import com.monty.backend.Service.OtpDeliveryTracker;
+import com.monty.backend.Service.RabbitMqService;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Publishes through the real RabbitTemplate configuration with an OpenTelemetry tracer and checks
+ * the W3C trace context reaches the AMQP message headers.
+ */
+@SpringJUnitConfig(RabbitMqTracingTest.TracingConfig.class)
+@TestPropertySource(properties = "email.enabled=false")
+class RabbitMqTracingTest {
+
+    @Autowired
+    private RabbitMqService rabbitMqService;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private Tracer tracer;
+
+    @MockitoBean
+    private ConnectionFactory connectionFactory;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private OtpDeliveryTracker otpDeliveryTracker;
+
+    private Channel channel;
+
+    @BeforeEach
+    void setUp() {
+        Connection connection = mock(Connection.class);
+        channel = mock(Channel.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createChannel(anyBoolean())).thenReturn(channel);
+    }
+
+    @Test
+    void sendOtpNotification_PropagatesTraceContextInHeaders() throws Exception {
+        // Arrange
+        OtpEvent otpEvent = new OtpEvent("john.doe@example.com", "123456", "John Doe");
+        Observation request = Observation.start("http.server.requests", observationRegistry);
+        String traceId;
+
+        // Act
+        try (Observation.Scope scope = request.openScope()) {
+            traceId = tracer.currentSpan().context().traceId();
+            rabbitMqService.sendOtpNotification(otpEvent);
+        } finally {
+            request.stop();
+        }
+
+        // Assert
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        verify(channel).basicPublish(eq(RabbitMqService.OTP_EXCHANGE), eq(RabbitMqService.OTP_ROUTING_KEY),
+                anyBoolean(), properties.capture(), any(byte[].class));
+        Object traceparent = properties.getValue().getHeaders().get("traceparent");
+        assertNotNull(traceparent);
+        assertTrue(traceparent.toString().startsWith("00-" + traceId + "-"));
+    }
+
+    @Configuration
+    @Import({RabbitMqConfig.class, RabbitMqService.class})
+    static class TracingConfig {
+
+        private final io.opentelemetry.api.trace.Tracer otelTracer = SdkTracerProvider.builder().build().get("test");
+
+        @Bean
+        OtelTracer tracer() {
+            return new OtelTracer(otelTracer, new OtelCurrentTraceContext(), event -> {
+            });
+        }
+
+        @Bean
+        ObservationRegistry observationRegistry(OtelTracer tracer) {
+            OtelPropagator propagator = new OtelPropagator(ContextPropagators.create(W3CTraceContextPropagator.getInstance()), otelTracer);
+            ObservationRegistry registry = ObservationRegistry.create();
+            registry.observationConfig().observationHandler(new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                    new PropagatingSenderTracingObservationHandler<>(tracer, propagator),
+                    new DefaultTracingObservationHandler(tracer)));
+            return registry;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.monty.backend;
+
+import com.monty.backend.Model.RefreshToken;
+import com.monty.backend.Repository.IRefreshTokenRepository;
+import com.monty.backend.Service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private IRefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, 60_000);
+    }
+
+    @Test
+    void issue_StoresOnlyTheHash() {
+        // Act
+        String rawToken = refreshTokenService.issue(1L);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(1L, saved.getValue().getUserId());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        assertNotEquals(rawToken, saved.getValue().getTokenHash());
+        assertNotNull(saved.getValue().getFamilyId());
+        assertTrue(saved.getValue().getExpirationTime().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void rotate_MarksTokenUsedAndIssuesNewOneInSameFamily() {
+        // Arrange
+        String rawToken = refreshTokenService.issue(1L);
+        RefreshToken current = captureSaved();
+        when(refreshTokenRepository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(rawToken);
+
+        // Assert
+        assertEquals(1L, rotation.userId());
+        assertNotEquals(rawToken, rotation.refreshToken());
+        assertTrue(current.getUsed());
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(3)).save(saved.capture());
+        RefreshToken next = saved.getAllValues().get(2);
+        assertEquals(current.getFamilyId(), next.getFamilyId());
+        assertFalse(next.getUsed());
+    }
+
+    @Test
+    void rotate_ReusedToken_RevokesFamily() {
+        // Arrange
+        String rawToken = refreshTokenService.issue(1L);
+        RefreshToken current = captureSaved();
+        current.setUsed(true);
+        when(refreshTokenRepository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> refreshTokenService.rotate(rawToken));
+
+        assertEquals("Refresh token reuse detected. Please log in again.", exception.getMessage());
+        verify(refreshTokenRepository).revokeFamily(current.getFamilyId());
+    }
+
+    @Test
+    void rotate_ExpiredToken_ThrowsException() {
+        // Arrange
+        String rawToken = refreshTokenService.issue(1L);
+        RefreshToken current = captureSaved();
+        current.setExpirationTime(LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> refreshTokenService.rotate(rawToken));
+
+        assertEquals("Refresh token has expired", exception.getMessage());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    void rotate_UnknownToken_ThrowsException() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> refreshTokenService.rotate("unknown"));
+
+        assertEquals("Invalid refresh token", exception.getMessage());
+    }
+
+    @Test
+    void purgeExpired_DeletesTokensExpiredBeforeNow() {
+        // Arrange
+        when(refreshTokenRepository.deleteExpired(any())).thenReturn(3);
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        refreshTokenService.purgeExpired();
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(refreshTokenRepository).deleteExpired(cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertFalse(cutoff.getValue().isAfter(LocalDateTime.now()));
+    }
+
+    private RefreshToken captureSaved() {
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, atLeastOnce()).save(saved.capture());
+        List<RefreshToken> all = saved.getAllValues();
+        return all.get(all.size() - 1);
+    }
+}
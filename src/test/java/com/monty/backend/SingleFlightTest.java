@@ -0,0 +1,166 @@
+package com.monty.backend;
+
+import com.monty.backend.Exception.UserNotFoundException;
+import com.monty.backend.Util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private MeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    void concurrentCallsForSameKey_ShareOneQuery() throws Exception {
+        // Arrange
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // Act
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("john.doe@example.com", () -> {
+                    queries.incrementAndGet();
+                    await(release);
+                    return "John Doe";
+                })));
+            }
+            awaitFollowers(CALLERS - 1);
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("John Doe", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, queries.get());
+        assertEquals(1.0, meterRegistry.counter("singleflight.calls", "name", "test", "role", "leader").count());
+    }
+
+    @Test
+    void leaderException_IsRethrownToFollowers() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("missing@example.com", () -> {
+                await(release);
+                throw new UserNotFoundException("User not found");
+            }));
+            awaitLeader();
+            Future<String> follower = executor.submit(() -> singleFlight.execute("missing@example.com", () -> "unexpected"));
+            awaitFollowers(1);
+            release.countDown();
+
+            // Assert
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(UserNotFoundException.class, leaderError.getCause());
+            assertInstanceOf(UserNotFoundException.class, followerError.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void sequentialCalls_AreNotCached() {
+        // Arrange
+        AtomicInteger queries = new AtomicInteger();
+
+        // Act
+        singleFlight.execute("john.doe@example.com", () -> "v" + queries.incrementAndGet());
+        String second = singleFlight.execute("john.doe@example.com", () -> "v" + queries.incrementAndGet());
+
+        // Assert
+        assertEquals("v2", second);
+        assertEquals(0.0, meterRegistry.counter("singleflight.calls", "name", "test", "role", "follower").count());
+    }
+
+    @Test
+    void overlappingBatches_LoadEachKeyOnce() throws Exception {
+        // Arrange
+        List<Set<String>> loads = new ArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        try {
+            Future<Map<String, String>> first = executor.submit(() -> singleFlight.executeAll(List.of("a", "b"), keys -> {
+                synchronized (loads) {
+                    loads.add(keys);
+                }
+                await(release);
+                return Map.of("a", "A", "b", "B");
+            }));
+            awaitLeader();
+            Future<Map<String, String>> second = executor.submit(() -> singleFlight.executeAll(List.of("b", "c"), keys -> {
+                synchronized (loads) {
+                    loads.add(keys);
+                }
+                return Map.of("c", "C");
+            }));
+            awaitFollowers(1);
+            release.countDown();
+
+            // Assert
+            assertEquals(Map.of("a", "A", "b", "B"), first.get(5, TimeUnit.SECONDS));
+            assertEquals(Map.of("b", "B", "c", "C"), second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(List.of(Set.of("a", "b"), Set.of("c")), loads);
+    }
+
+    private void awaitLeader() throws InterruptedException {
+        awaitCount("leader", 1);
+    }
+
+    private void awaitFollowers(int followers) throws InterruptedException {
+        awaitCount("follower", followers);
+    }
+
+    private void awaitCount(String role, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("singleflight.calls", "name", "test", "role", role).count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for " + expected + " " + role + " calls");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.monty.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.monty.backend.Config.GlobalExceptionHandler;
+import com.monty.backend.Controller.IntrospectionController;
+import com.monty.backend.DTO.TokenIntrospectionDTO;
+import com.monty.backend.Model.User;
+import com.monty.backend.Repository.IUserRepository;
+import com.monty.backend.Service.TokenIntrospectionService;
+import com.monty.backend.Service.TokenRevocationService;
+import com.monty.backend.Util.JwtKeyRing;
+import com.monty.backend.Util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private IUserRepository userRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtUtil jwtUtil;
+    private TokenIntrospectionService tokenIntrospectionService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing("", Duration.ofMinutes(5));
+        keyRing.load();
+        jwtUtil = new JwtUtil(keyRing, 900000L);
+        tokenIntrospectionService = new TokenIntrospectionService(jwtUtil, tokenRevocationService, userRepository,
+                meterRegistry, 1000, Duration.ofMinutes(1), 1000);
+
+        user = new User();
+        ReflectionTestUtils.setField(user, "id", 1L);
+        user.setName("John Doe");
+        user.setEmail("john.doe@example.com");
+        user.setActive(true);
+    }
+
+    @Test
+    void introspect_Batch_LoadsMissingPrincipalsOnceAndKeepsOrder() {
+        // Arrange
+        String token = jwtUtil.generateToken(user.getEmail(), 1L);
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user));
+
+        // Act
+        List<TokenIntrospectionDTO> first = tokenIntrospectionService.introspect(List.of(token, "not-a-jwt", token));
+        List<TokenIntrospectionDTO> second = tokenIntrospectionService.introspect(List.of(token));
+
+        // Assert
+        assertEquals(3, first.size());
+        assertTrue(first.get(0).isActive());
+        assertEquals("john.doe@example.com", first.get(0).getSub());
+        assertEquals(1L, first.get(0).getUserId());
+        assertEquals("John Doe", first.get(0).getName());
+        assertFalse(first.get(1).isActive());
+        assertTrue(first.get(2).isActive());
+        assertTrue(second.get(0).isActive());
+        verify(userRepository, times(1)).findAllById(any());
+        assertEquals(3.0, meterRegistry.counter("auth.introspection", "result", "active").count());
+        assertEquals(1.0, meterRegistry.counter("auth.introspection", "result", "invalid").count());
+    }
+
+    @Test
+    void evict_NextIntrospectionReloadsAccount() {
+        // Arrange
+        String token = jwtUtil.generateToken(user.getEmail(), 1L);
+        User deactivated = new User();
+        ReflectionTestUtils.setField(deactivated, "id", 1L);
+        deactivated.setEmail(user.getEmail());
+        deactivated.setActive(false);
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user), List.of(deactivated));
+        tokenIntrospectionService.introspect(List.of(token));
+
+        // Act
+        tokenIntrospectionService.evict(1L);
+        List<TokenIntrospectionDTO> results = tokenIntrospectionService.introspect(List.of(token));
+
+        // Assert
+        assertFalse(results.get(0).isActive());
+        verify(userRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void introspect_RevokedToken_IsInactive() {
+        // Arrange
+        String token = jwtUtil.generateToken(user.getEmail(), 1L);
+        when(tokenRevocationService.isRevoked(anyString())).thenReturn(true);
+
+        // Act
+        List<TokenIntrospectionDTO> results = tokenIntrospectionService.introspect(List.of(token));
+
+        // Assert
+        assertFalse(results.get(0).isActive());
+        assertNull(results.get(0).getSub());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void introspect_DeletedOrInactiveUser_IsInactive() {
+        // Arrange
+        String orphanToken = jwtUtil.generateToken("gone@example.com", 2L);
+        String inactiveToken = jwtUtil.generateToken(user.getEmail(), 1L);
+        user.setActive(false);
+        when(userRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(user));
+
+        // Act
+        List<TokenIntrospectionDTO> results = tokenIntrospectionService.introspect(List.of(orphanToken, inactiveToken));
+
+        // Assert
+        assertFalse(results.get(0).isActive());
+        assertFalse(results.get(1).isActive());
+    }
+
+    @Test
+    void introspectEndpoint_SpeaksCbor() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new IntrospectionController(tokenIntrospectionService, "internal-secret"))
+                .setControllerAdvice(new GlobalExceptionHandler(10))
+                .build();
+        String token = jwtUtil.generateToken(user.getEmail(), 1L);
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user));
+        ObjectMapper cbor = new CBORMapper();
+        byte[] body = cbor.writeValueAsBytes(Map.of("tokens", List.of(token)));
+
+        // Act
+        byte[] response = mockMvc.perform(post("/api/internal/introspect")
+                        .header("X-Client-Secret", "internal-secret")
+                        .contentType("application/cbor")
+                        .accept("application/cbor")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode result = cbor.readTree(response).get("results").get(0);
+        assertTrue(result.get("active").asBoolean());
+        assertEquals("john.doe@example.com", result.get("sub").asText());
+    }
+
+    @Test
+    void introspectEndpoint_WrongSecret_IsUnauthorized() throws Exception {
+        // Arrange
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new IntrospectionController(tokenIntrospectionService, "internal-secret"))
+                .setControllerAdvice(new GlobalExceptionHandler(10))
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/internal/introspect")
+                        .header("X-Client-Secret", "guess")
+                        .contentType("application/json")
+                        .content("{\"tokens\":[\"abc\"]}"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(userRepository);
+    }
+}
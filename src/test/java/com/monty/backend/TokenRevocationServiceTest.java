@@ -0,0 +1,177 @@
+package com.monty.backend;
+
+import com.monty.backend.Exception.RevocationUnavailableException;
+import com.monty.backend.Service.TokenRevocationService;
+import com.monty.backend.Util.BloomFilter;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({"unchecked", "rawtypes"})
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(
+                redisTemplate, listenerContainer, CircuitBreakerRegistry.ofDefaults(), 1000, 0.001);
+    }
+
+    @Test
+    void subscribe_ListensOnRevocationChannel() {
+        // Act
+        tokenRevocationService.subscribe();
+
+        // Assert
+        verify(listenerContainer).addMessageListener(tokenRevocationService,
+                new ChannelTopic(TokenRevocationService.REVOCATION_CHANNEL));
+    }
+
+    @Test
+    void revoke_StoresKeyWithRemainingLifetimeAndPublishes() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        Date expiresAt = new Date(System.currentTimeMillis() + 60_000);
+
+        // Act
+        tokenRevocationService.revoke("token-id", expiresAt);
+
+        // Assert
+        verify(valueOperations).set(eq("revoked-jwt:token-id"), eq(Boolean.TRUE),
+                longThat(ttl -> ttl > 0 && ttl <= 60_000), eq(TimeUnit.MILLISECONDS));
+        verify(zSetOperations).add("revoked-jwt-index", "token-id", expiresAt.getTime());
+        verify(redisTemplate).convertAndSend(TokenRevocationService.REVOCATION_CHANNEL, "token-id");
+    }
+
+    @Test
+    void revoke_ExpiredToken_DoesNothing() {
+        // Act
+        tokenRevocationService.revoke("token-id", new Date(System.currentTimeMillis() - 1));
+
+        // Assert
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void isRevoked_UnknownToken_AnsweredLocally() {
+        // Act & Assert
+        assertFalse(tokenRevocationService.isRevoked("never-revoked"));
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void isRevoked_RevokedToken_ConfirmedInRedis() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.hasKey("revoked-jwt:token-id")).thenReturn(true);
+        tokenRevocationService.revoke("token-id", new Date(System.currentTimeMillis() + 60_000));
+
+        // Act & Assert
+        assertTrue(tokenRevocationService.isRevoked("token-id"));
+    }
+
+    @Test
+    void revoke_RedisDown_RevokesLocallyAndReportsUnavailable() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doThrow(new RedisConnectionFailureException("Connection refused"))
+                .when(valueOperations).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+        when(redisTemplate.hasKey("revoked-jwt:token-id")).thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        // Act & Assert
+        assertThrows(RevocationUnavailableException.class,
+                () -> tokenRevocationService.revoke("token-id", new Date(System.currentTimeMillis() + 60_000)));
+        // In the local filter, and Redis cannot clear it
+        assertTrue(tokenRevocationService.isRevoked("token-id"));
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    void isRevoked_PossibleMatchWithRedisDown_FailsClosed() {
+        // Arrange
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) new GenericJackson2JsonRedisSerializer());
+        when(redisTemplate.hasKey("revoked-jwt:token-id")).thenThrow(new RedisConnectionFailureException("Connection refused"));
+        tokenRevocationService.onMessage(new DefaultMessage(
+                TokenRevocationService.REVOCATION_CHANNEL.getBytes(),
+                new GenericJackson2JsonRedisSerializer().serialize("token-id")), null);
+
+        // Act & Assert
+        assertTrue(tokenRevocationService.isRevoked("token-id"));
+    }
+
+    @Test
+    void rebuild_LoadsActiveRevocationsFromIndex() {
+        // Arrange
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScore(eq("revoked-jwt-index"), anyDouble(), eq(Double.POSITIVE_INFINITY)))
+                .thenReturn(Set.of("token-a", "token-b"));
+        when(redisTemplate.hasKey(startsWith("revoked-jwt:"))).thenReturn(true);
+
+        // Act
+        tokenRevocationService.rebuild();
+
+        // Assert
+        verify(zSetOperations).removeRangeByScore(eq("revoked-jwt-index"), eq(0.0), anyDouble());
+        assertTrue(tokenRevocationService.isRevoked("token-a"));
+        assertTrue(tokenRevocationService.isRevoked("token-b"));
+        assertFalse(tokenRevocationService.isRevoked("token-c"));
+    }
+
+    @Test
+    void bloomFilter_HasNoFalseNegativesAndFewFalsePositives() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("revoked-" + i));
+            if (filter.mightContain("active-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 50, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,118 @@
+package com.monty.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monty.backend.Repository.IRefreshTokenRepository;
+import com.monty.backend.Service.TokenIntrospectionService;
+import com.monty.backend.Service.WarmUpService;
+import com.monty.backend.Util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmUpServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private java.sql.Connection databaseConnection;
+
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Mock
+    private ConnectionFactory rabbitConnectionFactory;
+
+    @Mock
+    private Connection rabbitConnection;
+
+    @Mock
+    private com.rabbitmq.client.Channel channel;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @Mock
+    private IRefreshTokenRepository refreshTokenRepository;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private WarmUpService warmUpService(int preloadUsers) {
+        return new WarmUpService(dataSource, redisConnectionFactory, rabbitConnectionFactory, jwtUtil, passwordEncoder,
+                new ObjectMapper(), tokenIntrospectionService, refreshTokenRepository, meterRegistry,
+                3, 2, 10, 2, preloadUsers);
+    }
+
+    @Test
+    void warmUp_OpensConnectionsAndRunsHotPaths() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenReturn(databaseConnection);
+        when(redisConnectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+        when(rabbitConnectionFactory.createConnection()).thenReturn(rabbitConnection);
+        when(rabbitConnection.createChannel(false)).thenReturn(channel);
+        when(jwtUtil.generateToken(anyString(), anyLong())).thenReturn("token");
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+
+        // Act
+        Map<String, Long> report = warmUpService(0).warmUp();
+
+        // Assert: a failing step is skipped, the others still run
+        assertEquals(List.of("database", "redis", "rabbitmq", "jwt", "password", "json"), List.copyOf(report.keySet()));
+        verify(dataSource, times(3)).getConnection();
+        verify(databaseConnection, times(3)).close();
+        verify(channel).close();
+        verify(jwtUtil, times(10)).extractAllClaims("token");
+        verify(passwordEncoder, times(2)).matches(anyString(), eq("hash"));
+        verifyNoInteractions(refreshTokenRepository);
+        assertEquals(1, meterRegistry.get("app.warmup").tag("step", "redis").tag("outcome", "error").timer().count());
+        assertEquals(1, meterRegistry.get("app.warmup").tag("step", "json").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void warmUp_PreloadsRecentlyActiveUsers() {
+        // Arrange
+        when(refreshTokenRepository.findRecentlyActiveUserIds(any(LocalDateTime.class), eq(Limit.of(50))))
+                .thenReturn(List.of(1L, 2L));
+
+        // Act
+        Map<String, Long> report = warmUpService(50).warmUp();
+
+        // Assert
+        assertTrue(report.containsKey("preload_users"));
+        verify(tokenIntrospectionService).preload(List.of(1L, 2L));
+    }
+}
@@ -0,0 +1,148 @@
+package com.monty.backend.integration;
+
+import com.monty.backend.Config.RedisConfig;
+import com.monty.backend.Service.OtpCacheService;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the OTP cache against a real 3 master / 3 replica Redis Cluster made of
+ * local redis-server processes. Skipped when redis-server is not on the PATH.
+ * Run with: mvn verify -Dit.test=RedisClusterIntegrationTest
+ */
+public class RedisClusterIntegrationTest {
+
+    private static final int BASE_PORT = 17000;
+    private static final int NODES = 6;
+
+    private static final List<Process> nodes = new ArrayList<>();
+    private static Path workDir;
+    private static LettuceConnectionFactory connectionFactory;
+    private static OtpCacheService otpCacheService;
+
+    @BeforeAll
+    static void startCluster() throws Exception {
+        assumeTrue(onPath("redis-server") && onPath("redis-cli"), "redis-server/redis-cli not installed");
+
+        workDir = Files.createTempDirectory("redis-cluster");
+        List<String> createArgs = new ArrayList<>(List.of("redis-cli", "--cluster", "create"));
+        for (int i = 0; i < NODES; i++) {
+            int port = BASE_PORT + i;
+            Path dir = Files.createDirectories(workDir.resolve(String.valueOf(port)));
+            nodes.add(new ProcessBuilder("redis-server",
+                    "--port", String.valueOf(port),
+                    "--cluster-enabled", "yes",
+                    "--cluster-config-file", "nodes.conf",
+                    "--appendonly", "no",
+                    "--save", "")
+                    .directory(dir.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(dir.resolve("redis.log").toFile())
+                    .start());
+            createArgs.add("127.0.0.1:" + port);
+        }
+        for (int i = 0; i < NODES; i++) {
+            waitFor(List.of("redis-cli", "-p", String.valueOf(BASE_PORT + i), "ping"), "PONG");
+        }
+
+        createArgs.addAll(List.of("--cluster-replicas", "1", "--cluster-yes"));
+        Process create = new ProcessBuilder(createArgs).redirectErrorStream(true).start();
+        assertTrue(create.waitFor(30, TimeUnit.SECONDS), "cluster create timed out");
+        waitFor(List.of("redis-cli", "-p", String.valueOf(BASE_PORT), "cluster", "info"), "cluster_state:ok");
+
+        RedisClusterConfiguration clusterConfiguration = new RedisClusterConfiguration();
+        for (int i = 0; i < NODES; i++) {
+            clusterConfiguration.clusterNode("127.0.0.1", BASE_PORT + i);
+        }
+        connectionFactory = new LettuceConnectionFactory(clusterConfiguration, LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofSeconds(2))
+                .build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisTemplate<String, Object> redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        otpCacheService = new OtpCacheService(redisTemplate, CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+    }
+
+    @AfterAll
+    static void stopCluster() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        nodes.forEach(Process::destroy);
+        if (workDir != null) {
+            try (var paths = Files.walk(workDir)) {
+                paths.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    @Test
+    void storeAndFetch_RunAcrossClusterSlots() {
+        // Spread a few emails across slots owned by different masters
+        for (int i = 0; i < 20; i++) {
+            String email = "user" + i + "@example.com";
+            assertTrue(otpCacheService.store(email, "12345" + (i % 10), 5));
+
+            OtpCacheService.OtpLookup first = otpCacheService.fetchForVerification(email, 5).orElseThrow();
+            OtpCacheService.OtpLookup second = otpCacheService.fetchForVerification(email, 5).orElseThrow();
+
+            assertEquals("12345" + (i % 10), first.otpCode());
+            assertEquals(1L, first.attempts());
+            assertEquals(2L, second.attempts());
+        }
+    }
+
+    @Test
+    void evict_RemovesOtpAndResetsAttempts() {
+        String email = "evict@example.com";
+        otpCacheService.store(email, "654321", 5);
+        otpCacheService.fetchForVerification(email, 5);
+
+        otpCacheService.evict(email);
+
+        OtpCacheService.OtpLookup lookup = otpCacheService.fetchForVerification(email, 5).orElseThrow();
+        assertNull(lookup.otpCode());
+        assertEquals(1L, lookup.attempts());
+    }
+
+    private static boolean onPath(String binary) {
+        try {
+            return new ProcessBuilder(binary, "--version").start().waitFor(5, TimeUnit.SECONDS);
+        } catch (IOException | InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static void waitFor(List<String> command, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes());
+            if (process.waitFor(5, TimeUnit.SECONDS) && output.contains(expected)) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        fail("Timed out waiting for '" + expected + "' from " + command);
+    }
+}